@@ -0,0 +1,123 @@
+package Sudoku.GameLogic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed set of generated puzzles shared by the benchmarks, so that every run measures the same boards. Each line of
+ * benchmark-corpus.txt holds the 81 clue digits of a puzzle and the 81 digits of its solution, separated by a space.
+ */
+public final class BenchmarkCorpus {
+    private static final String CORPUS_RESOURCE = "/benchmark-corpus.txt";
+    private static final List<Puzzle> PUZZLES = loadPuzzles();
+    // The benchmarks that generate grids cycle through a fixed list of seeds derived from this batch seed
+    private static final long GENERATION_BATCH_SEED = 0x5EED_C0DE_2024L;
+    public static final int NUM_GENERATION_SEEDS = 64;
+
+    private BenchmarkCorpus() {
+    }
+
+    public static List<Puzzle> getPuzzles() {
+        return PUZZLES;
+    }
+
+    /**
+     * Gets one of the fixed generation seeds, so that benchmarks which generate grids measure the same workload in
+     * every run and fork
+     * @param index the index of the seed, which wraps around after NUM_GENERATION_SEEDS seeds
+     * @return the seed for a PuzzleGenerator
+     */
+    public static long getGenerationSeed(int index) {
+        return PuzzleGenerator.puzzleSeed(GENERATION_BATCH_SEED, index % NUM_GENERATION_SEEDS);
+    }
+
+    /**
+     * Gets the clues of every puzzle in the corpus, each of which has a unique solution
+     * @return the list of clue arrays in row-major order
+     */
+    public static List<int[]> getUniqueBoards() {
+        List<int[]> boards = new ArrayList<>(PUZZLES.size());
+
+        for (Puzzle puzzle : PUZZLES) {
+            boards.add(puzzle.getClues());
+        }
+
+        return boards;
+    }
+
+    /**
+     * Gets the clues of every puzzle in the corpus with the first clue removed, which usually gives the board
+     * multiple solutions
+     * @return the list of clue arrays in row-major order
+     */
+    public static List<int[]> getSparserBoards() {
+        List<int[]> boards = new ArrayList<>(PUZZLES.size());
+
+        for (Puzzle puzzle : PUZZLES) {
+            int[] clues = puzzle.getClues();
+
+            for (int cell = 0; cell < clues.length; cell++) {
+                if (clues[cell] != 0) {
+                    clues[cell] = 0;
+
+                    break;
+                }
+            }
+
+            boards.add(clues);
+        }
+
+        return boards;
+    }
+
+    /**
+     * Reads the corpus from the classpath
+     * @return the list of puzzles in the corpus
+     */
+    private static List<Puzzle> loadPuzzles() {
+        List<Puzzle> puzzles = new ArrayList<>();
+
+        try (InputStream stream = BenchmarkCorpus.class.getResourceAsStream(CORPUS_RESOURCE)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing benchmark corpus " + CORPUS_RESOURCE);
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    String[] fields = line.trim().split(" ");
+
+                    puzzles.add(new Puzzle(parseDigits(fields[0]), parseDigits(fields[1])));
+                }
+            }
+        }
+        catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+
+        return List.copyOf(puzzles);
+    }
+
+    /**
+     * Converts a string of 81 digits into a board array
+     * @param digits the string of digits, where 0 is an empty tile
+     * @return the 81 values in row-major order
+     */
+    private static int[] parseDigits(String digits) {
+        int[] values = new int[81];
+
+        for (int cell = 0; cell < values.length; cell++) {
+            values[cell] = digits.charAt(cell) - '0';
+        }
+
+        return values;
+    }
+}
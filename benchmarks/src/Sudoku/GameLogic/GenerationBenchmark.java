@@ -0,0 +1,122 @@
+package Sudoku.GameLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each phase of puzzle generation: filling a full grid (by search or by transforming a seed grid),
+ * removing clues from a full grid, and a complete generation (both phases plus grading)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GenerationBenchmark {
+    @State(Scope.Thread)
+    public static class FullGridState {
+        private final List<Puzzle> puzzles = BenchmarkCorpus.getPuzzles();
+        private final PuzzleGenerator puzzleGenerator = new PuzzleGenerator(SolverType.BITBOARD);
+        private int nextPuzzle;
+
+        /**
+         * Loads the next full grid of the corpus before each clue removal, since removal empties the board
+         */
+        @Setup(Level.Invocation)
+        public void loadNextFullGrid() {
+            puzzleGenerator.loadFullGrid(puzzles.get(nextPuzzle).getSolution());
+            nextPuzzle = (nextPuzzle + 1) % puzzles.size();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SeedState {
+        private int nextSeed;
+
+        /**
+         * Gets the next of the corpus's fixed generation seeds, cycling through all of them
+         * @return the seed for a PuzzleGenerator
+         */
+        public long nextSeed() {
+            long seed = BenchmarkCorpus.getGenerationSeed(nextSeed);
+
+            nextSeed = (nextSeed + 1) % BenchmarkCorpus.NUM_GENERATION_SEEDS;
+
+            return seed;
+        }
+    }
+
+    /**
+     * Fills an empty board with a random valid grid (initializeFullGrid and fillGrid)
+     * @param seeds the state holding the fixed generation seeds
+     * @return the generator, so that the work is not eliminated
+     */
+    @Benchmark
+    public PuzzleGenerator fillGrid(SeedState seeds) {
+        PuzzleGenerator puzzleGenerator = new PuzzleGenerator(SolverType.BITBOARD, FullGridSource.SEARCH,
+                seeds.nextSeed());
+
+        puzzleGenerator.initializeFullGrid();
+
+        return puzzleGenerator;
+    }
+
+    /**
+     * Fills an empty board by transforming a seed grid (the TRANSFORM full-grid source)
+     * @param seeds the state holding the fixed generation seeds
+     * @return the generator, so that the work is not eliminated
+     */
+    @Benchmark
+    public PuzzleGenerator fillGridByTransform(SeedState seeds) {
+        PuzzleGenerator puzzleGenerator = new PuzzleGenerator(SolverType.BITBOARD, FullGridSource.TRANSFORM,
+                seeds.nextSeed());
+
+        puzzleGenerator.initializeFullGrid();
+
+        return puzzleGenerator;
+    }
+
+    /**
+     * Removes clues from a full grid of the corpus with the default removal parameters
+     * @param state the state holding the loaded full grid
+     * @return the last iteration that removed clues
+     */
+    @Benchmark
+    public int removeClues(FullGridState state) {
+        return state.puzzleGenerator.removeClues(25, StagedClueRemovalStrategy.DEFAULT);
+    }
+
+    /**
+     * Removes clues from a full grid of the corpus, checking one speculative removal per available processor in
+     * parallel
+     * @param state the state holding the loaded full grid
+     * @return the last iteration that removed clues
+     */
+    @Benchmark
+    public int removeCluesSpeculatively(FullGridState state) {
+        return state.puzzleGenerator.removeClues(25, StagedClueRemovalStrategy.DEFAULT,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Generates and grades a complete puzzle
+     * @param seeds the state holding the fixed generation seeds
+     * @return the generated puzzle
+     */
+    @Benchmark
+    public Puzzle generatePuzzle(SeedState seeds) {
+        return new PuzzleGenerator(25, seeds.nextSeed()).toPuzzle();
+    }
+}
@@ -0,0 +1,89 @@
+package Sudoku.GameLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the candidate operations and relevant-tile lookups of SudokuTile, run on a tile of a full board
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SudokuTileBenchmark {
+    private final Random generator = new Random(0);
+    private SudokuTile tile;
+    private int candidate;
+
+    @Setup
+    public void setUp() {
+        PuzzleGenerator puzzleGenerator = new PuzzleGenerator(SolverType.BITBOARD);
+
+        puzzleGenerator.loadFullGrid(BenchmarkCorpus.getPuzzles().get(0).getSolution());
+
+        tile = puzzleGenerator.getTileGrid()[4][4];
+        tile.setCandidates(0b101101101);
+        candidate = 5;
+    }
+
+    /**
+     * Removes and then restores a candidate
+     * @return the tile's candidates
+     */
+    @Benchmark
+    public int removeAndAddCandidate() {
+        tile.removeCandidate(candidate);
+        tile.addCandidate(candidate);
+
+        return tile.getCandidates();
+    }
+
+    @Benchmark
+    public boolean hasCandidate() {
+        return tile.hasCandidate(candidate);
+    }
+
+    @Benchmark
+    public int getNumCandidates() {
+        return tile.getNumCandidates();
+    }
+
+    @Benchmark
+    public int getLowestCandidate() {
+        return tile.getLowestCandidate();
+    }
+
+    @Benchmark
+    public int getRandomCandidate() {
+        return tile.getRandomCandidate(generator);
+    }
+
+    @Benchmark
+    public boolean onlyCandidateEquals() {
+        return tile.onlyCandidateEquals(candidate);
+    }
+
+    @Benchmark
+    public List<SudokuTile> getBox() {
+        return tile.getBox();
+    }
+
+    @Benchmark
+    public boolean rowHasValue() {
+        return SudokuTile.collectionHasValue(tile.getRow(), candidate);
+    }
+}
@@ -0,0 +1,74 @@
+package Sudoku.GameLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks hasUniqueSolution over the fixed corpus with each solving engine. The unique boards are the corpus
+ * puzzles, and the sparser boards have one clue removed so that the check usually finds a second solution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class UniquenessBenchmark {
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"BITBOARD", "DANCING_LINKS"})
+    private SolverType solverType;
+
+    private PuzzleGenerator puzzleGenerator;
+    private List<int[]> uniqueBoards;
+    private List<int[]> sparserBoards;
+
+    @Setup
+    public void setUp() {
+        puzzleGenerator = new PuzzleGenerator(solverType);
+        uniqueBoards = BenchmarkCorpus.getUniqueBoards();
+        sparserBoards = BenchmarkCorpus.getSparserBoards();
+
+        if (uniqueBoards.size() != CORPUS_SIZE) {
+            throw new IllegalStateException("Expected " + CORPUS_SIZE + " corpus puzzles");
+        }
+    }
+
+    /**
+     * Checks every unique board in the corpus
+     * @param blackhole the Blackhole consuming each result
+     */
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void uniqueBoards(Blackhole blackhole) {
+        for (int[] board : uniqueBoards) {
+            blackhole.consume(puzzleGenerator.hasUniqueSolution(board));
+        }
+    }
+
+    /**
+     * Checks every sparser board in the corpus
+     * @param blackhole the Blackhole consuming each result
+     */
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void sparserBoards(Blackhole blackhole) {
+        for (int[] board : sparserBoards) {
+            blackhole.consume(puzzleGenerator.hasUniqueSolution(board));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package Sudoku.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one iteration of clue removal, or one round of parallel single-clue trials
+ */
+@Name("Sudoku.ClueRemoval")
+@Label("Clue Removal Iteration")
+@Category({"Sudoku", "Generation"})
+@Description("One iteration of removing clues from the board")
+@Enabled(false)
+public class ClueRemovalEvent extends Event {
+    @Label("Iteration")
+    public int iteration;
+
+    @Label("Removal Count")
+    @Description("Number of clues the iteration tried to remove (4, 2, or 1)")
+    public int removalCount;
+
+    @Label("Trials")
+    @Description("Number of removals checked in parallel (1 when removals are checked one at a time)")
+    public int trials;
+
+    @Label("Clues Before")
+    public int cluesBefore;
+
+    @Label("Clues Removed")
+    public int cluesRemoved;
+
+    @Label("Accepted")
+    @Description("Whether the removal kept a unique solution and was applied to the board")
+    public boolean accepted;
+}
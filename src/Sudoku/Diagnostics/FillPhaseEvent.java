@@ -0,0 +1,26 @@
+package Sudoku.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the full-grid fill phase of one puzzle, including any restarts
+ */
+@Name("Sudoku.FillPhase")
+@Label("Full Grid Fill")
+@Category({"Sudoku", "Generation"})
+@Description("Filling an empty board with a random valid grid")
+@Enabled(false)
+public class FillPhaseEvent extends Event {
+    @Label("Source")
+    @Description("How the full grid was produced (SEARCH or TRANSFORM)")
+    public String source;
+
+    @Label("Invalid Triple Restarts")
+    @Description("Number of times the fill started over because the first nine values formed an invalid triple")
+    public int invalidTripleRestarts;
+}
@@ -0,0 +1,22 @@
+package Sudoku.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one fillGrid attempt that reached its maximum number of iterations and had to start over
+ */
+@Name("Sudoku.FillRestart")
+@Label("Fill Restart")
+@Category({"Sudoku", "Generation"})
+@Description("A fillGrid attempt that reached its iteration limit and was restarted")
+@Enabled(false)
+public class FillRestartEvent extends Event {
+    @Label("Filled Tiles")
+    @Description("Number of tiles that were filled when the attempt was abandoned")
+    public int filledTiles;
+}
@@ -0,0 +1,283 @@
+package Sudoku.Diagnostics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Counters and histograms describing puzzle generation. Every counter is a striped LongAdder and every histogram uses
+ * LongAdder buckets, so generators running on many threads can record into the same GenerationMetrics without
+ * contending. The metrics can be written in the Prometheus text format to be scraped or dumped to a file.
+ */
+public class GenerationMetrics {
+    // Removal modes are the number of clues an iteration tries to remove at once, up to every clue on the board
+    private static final int MAX_REMOVAL_MODE = 81;
+
+    private final LongAdder puzzlesGenerated = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder fillRestarts = new LongAdder();
+    private final LongAdder invalidTripleRestarts = new LongAdder();
+    private final LongAdder removalIterationLimits = new LongAdder();
+    private final LongAdder[] removalIterations = new LongAdder[MAX_REMOVAL_MODE + 1];
+    private final LongAdder[] cluesRemoved = new LongAdder[MAX_REMOVAL_MODE + 1];
+    private final Histogram uniquenessCheckNanos = Histogram.exponential();
+    private final Histogram fillNanos = Histogram.exponential();
+    private final Histogram removalNanos = Histogram.exponential();
+    private final Histogram generationNanos = Histogram.exponential();
+    private final Histogram finalClueCounts = Histogram.linear(81);
+
+    /**
+     * Constructor: Creates a GenerationMetrics with every counter at zero
+     */
+    public GenerationMetrics() {
+        for (int removalMode = 1; removalMode <= MAX_REMOVAL_MODE; removalMode++) {
+            removalIterations[removalMode] = new LongAdder();
+            cluesRemoved[removalMode] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a backtrack to the last filled tile while filling the grid
+     */
+    public void recordBacktrack() {
+        backtracks.increment();
+    }
+
+    /**
+     * Records a fillGrid restart after it reached its maximum number of iterations
+     */
+    public void recordFillRestart() {
+        fillRestarts.increment();
+    }
+
+    /**
+     * Records a restart of the full-grid fill because the first nine values formed an invalid triple
+     */
+    public void recordInvalidTripleRestart() {
+        invalidTripleRestarts.increment();
+    }
+
+    /**
+     * Records one uniqueness check
+     * @param nanos the duration of the check in nanoseconds
+     */
+    public void recordUniquenessCheck(long nanos) {
+        uniquenessCheckNanos.record(nanos);
+    }
+
+    /**
+     * Records one iteration of clue removal
+     * @param removalCount the number of clues the iteration tried to remove
+     * @param numRemoved the number of clues that were actually removed
+     */
+    public void recordRemovalIteration(int removalCount, int numRemoved) {
+        removalIterations[removalCount].increment();
+        cluesRemoved[removalCount].add(numRemoved);
+    }
+
+    /**
+     * Records that clue removal stopped at its maximum number of iterations before reaching the minimum clues
+     */
+    public void recordRemovalIterationLimit() {
+        removalIterationLimits.increment();
+    }
+
+    /**
+     * Records a completed puzzle and the duration of each phase of its generation
+     * @param fillNanos the time spent filling the full grid in nanoseconds
+     * @param removalNanos the time spent removing clues in nanoseconds
+     * @param clueCount the number of clues left in the puzzle
+     */
+    public void recordPuzzle(long fillNanos, long removalNanos, int clueCount) {
+        puzzlesGenerated.increment();
+        this.fillNanos.record(fillNanos);
+        this.removalNanos.record(removalNanos);
+        generationNanos.record(fillNanos + removalNanos);
+        finalClueCounts.record(clueCount);
+    }
+
+    public long getPuzzlesGenerated() {
+        return puzzlesGenerated.sum();
+    }
+
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    public long getFillRestarts() {
+        return fillRestarts.sum();
+    }
+
+    public long getInvalidTripleRestarts() {
+        return invalidTripleRestarts.sum();
+    }
+
+    public long getRemovalIterationLimits() {
+        return removalIterationLimits.sum();
+    }
+
+    /**
+     * Gets the number of removal iterations that tried to remove a certain number of clues
+     * @param removalCount the removal mode (the number of clues removed at once)
+     * @return the number of iterations
+     */
+    public long getRemovalIterations(int removalCount) {
+        return removalIterations[removalCount].sum();
+    }
+
+    /**
+     * Gets the number of clues removed by iterations of a certain removal mode
+     * @param removalCount the removal mode (the number of clues removed at once)
+     * @return the number of clues removed
+     */
+    public long getCluesRemoved(int removalCount) {
+        return cluesRemoved[removalCount].sum();
+    }
+
+    public Histogram getUniquenessCheckNanos() {
+        return uniquenessCheckNanos;
+    }
+
+    public Histogram getFillNanos() {
+        return fillNanos;
+    }
+
+    public Histogram getRemovalNanos() {
+        return removalNanos;
+    }
+
+    public Histogram getGenerationNanos() {
+        return generationNanos;
+    }
+
+    public Histogram getFinalClueCounts() {
+        return finalClueCounts;
+    }
+
+    /**
+     * Clears every counter and histogram
+     */
+    public void reset() {
+        puzzlesGenerated.reset();
+        backtracks.reset();
+        fillRestarts.reset();
+        invalidTripleRestarts.reset();
+        removalIterationLimits.reset();
+
+        for (int removalMode = 1; removalMode <= MAX_REMOVAL_MODE; removalMode++) {
+            removalIterations[removalMode].reset();
+            cluesRemoved[removalMode].reset();
+        }
+
+        uniquenessCheckNanos.reset();
+        fillNanos.reset();
+        removalNanos.reset();
+        generationNanos.reset();
+        finalClueCounts.reset();
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format
+     * @param output the destination to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable output) throws IOException {
+        writeCounter(output, "sudoku_puzzles_generated_total", "Puzzles generated", getPuzzlesGenerated());
+        writeCounter(output, "sudoku_fill_backtracks_total", "Backtracks while filling the grid", getBacktracks());
+        writeCounter(output, "sudoku_fill_restarts_total", "fillGrid restarts after too many iterations",
+                getFillRestarts());
+        writeCounter(output, "sudoku_fill_invalid_triple_restarts_total", "Full-grid restarts caused by an invalid "
+                + "triple", getInvalidTripleRestarts());
+        writeCounter(output, "sudoku_removal_iteration_limits_total", "Clue removals that stopped at the iteration "
+                + "limit", getRemovalIterationLimits());
+
+        output.append("# HELP sudoku_removal_iterations_total Clue removal iterations by removal mode\n");
+        output.append("# TYPE sudoku_removal_iterations_total counter\n");
+
+        for (int removalMode : getUsedRemovalModes()) {
+            output.append("sudoku_removal_iterations_total{mode=\"").append(String.valueOf(removalMode))
+                    .append("\"} ").append(String.valueOf(getRemovalIterations(removalMode))).append('\n');
+        }
+
+        output.append("# HELP sudoku_clues_removed_total Clues removed by removal mode\n");
+        output.append("# TYPE sudoku_clues_removed_total counter\n");
+
+        for (int removalMode : getUsedRemovalModes()) {
+            output.append("sudoku_clues_removed_total{mode=\"").append(String.valueOf(removalMode))
+                    .append("\"} ").append(String.valueOf(getCluesRemoved(removalMode))).append('\n');
+        }
+
+        writeHistogram(output, "sudoku_uniqueness_check_nanoseconds", "Duration of uniqueness checks",
+                uniquenessCheckNanos);
+        writeHistogram(output, "sudoku_fill_nanoseconds", "Duration of the full-grid fill phase", fillNanos);
+        writeHistogram(output, "sudoku_removal_nanoseconds", "Duration of the clue removal phase", removalNanos);
+        writeHistogram(output, "sudoku_generation_nanoseconds", "Duration of generating a puzzle", generationNanos);
+        writeHistogram(output, "sudoku_final_clues", "Clues left in each generated puzzle", finalClueCounts);
+    }
+
+    /**
+     * Gets every metric in the Prometheus text exposition format
+     * @return the metrics text
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+
+        try {
+            writeText(text);
+        }
+        catch (IOException error) {
+            // StringBuilder does not throw IOExceptions
+            throw new UncheckedIOException(error);
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Gets the removal modes that have been used at least once, from largest to smallest
+     * @return the array of used removal modes
+     */
+    private int[] getUsedRemovalModes() {
+        return IntStream.iterate(MAX_REMOVAL_MODE, removalMode -> removalMode >= 1, removalMode -> removalMode - 1)
+                .filter(removalMode -> removalIterations[removalMode].sum() > 0)
+                .toArray();
+    }
+
+    private static void writeCounter(Appendable output, String name, String help, long value) throws IOException {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(" counter\n");
+        output.append(name).append(' ').append(String.valueOf(value)).append('\n');
+    }
+
+    /**
+     * Writes a histogram with cumulative buckets, skipping leading and trailing empty buckets to keep the output short
+     * @param output the destination to write to
+     * @param name the metric name
+     * @param help the metric description
+     * @param histogram the histogram to write
+     * @throws IOException if writing to the output fails
+     */
+    private static void writeHistogram(Appendable output, String name, String help, Histogram histogram)
+            throws IOException {
+        long totalCount = histogram.getCount();
+        long cumulativeCount = 0;
+
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(" histogram\n");
+
+        for (int bucket = 0; bucket < histogram.getNumBuckets() && cumulativeCount < totalCount; bucket++) {
+            long bucketCount = histogram.getBucketCount(bucket);
+            cumulativeCount += bucketCount;
+
+            if (cumulativeCount > 0) {
+                output.append(name).append("_bucket{le=\"").append(String.valueOf(histogram.getUpperBound(bucket)))
+                        .append("\"} ").append(String.valueOf(cumulativeCount)).append('\n');
+            }
+        }
+
+        output.append(name).append("_bucket{le=\"+Inf\"} ").append(String.valueOf(totalCount)).append('\n');
+        output.append(name).append("_sum ").append(String.valueOf(histogram.getSum())).append('\n');
+        output.append(name).append("_count ").append(String.valueOf(totalCount)).append('\n');
+    }
+}
@@ -0,0 +1,156 @@
+package Sudoku.Diagnostics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of non-negative values with fixed buckets. Each bucket is a striped LongAdder, so recording a
+ * value from many threads does not contend on a single counter. Buckets either grow in powers of two (for durations)
+ * or hold one value each (for small values such as clue counts).
+ */
+public class Histogram {
+    private final boolean exponential;
+    private final long[] upperBounds;
+    private final LongAdder[] bucketCounts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor: Creates a Histogram with the given bucket layout
+     * @param exponential true if the buckets grow in powers of two, false if each bucket holds one value
+     * @param numBuckets the number of buckets
+     */
+    private Histogram(boolean exponential, int numBuckets) {
+        this.exponential = exponential;
+        this.upperBounds = new long[numBuckets];
+        this.bucketCounts = new LongAdder[numBuckets];
+
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            upperBounds[bucket] = exponential ? ((bucket == 63) ? Long.MAX_VALUE : (1L << bucket) - 1) : bucket;
+            bucketCounts[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * Creates a Histogram whose bucket upper bounds are 0, 1, 3, 7, ... (one less than each power of two), which
+     * suits durations in nanoseconds
+     * @return the new Histogram
+     */
+    public static Histogram exponential() {
+        return new Histogram(true, 64);
+    }
+
+    /**
+     * Creates a Histogram with one bucket for each value from 0 to maxValue. Larger values are counted in the last
+     * bucket.
+     * @param maxValue the largest value with its own bucket
+     * @return the new Histogram
+     */
+    public static Histogram linear(int maxValue) {
+        return new Histogram(false, maxValue + 1);
+    }
+
+    /**
+     * Adds a value to the histogram
+     * @param value the value to record, where negative values are counted as 0
+     */
+    public void record(long value) {
+        long clampedValue = Math.max(value, 0);
+        int bucket = exponential ? (64 - Long.numberOfLeadingZeros(clampedValue))
+                : (int) Math.min(clampedValue, upperBounds.length - 1);
+
+        bucketCounts[Math.min(bucket, bucketCounts.length - 1)].increment();
+        count.increment();
+        sum.add(clampedValue);
+        max.accumulate(clampedValue);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values
+     * @return the mean, or 0 if no values have been recorded
+     */
+    public double getMean() {
+        long currentCount = count.sum();
+
+        return (currentCount == 0) ? 0 : ((double) sum.sum() / currentCount);
+    }
+
+    /**
+     * Estimates a percentile of the recorded values as the upper bound of the bucket containing it
+     * @param percentile the percentile to estimate, from 0 to 100
+     * @return the estimated value, or 0 if no values have been recorded
+     */
+    public long getPercentile(double percentile) {
+        long currentCount = count.sum();
+
+        if (currentCount == 0) {
+            return 0;
+        }
+
+        long targetRank = (long) Math.ceil((percentile / 100.0) * currentCount);
+        long cumulativeCount = 0;
+
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            cumulativeCount += bucketCounts[bucket].sum();
+
+            if (cumulativeCount >= targetRank) {
+                // The maximum is a tighter bound than the bucket for the highest values
+                return Math.min(upperBounds[bucket], max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Gets the number of buckets in the histogram
+     * @return the number of buckets
+     */
+    public int getNumBuckets() {
+        return bucketCounts.length;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket
+     * @param bucket the index of the bucket
+     * @return the bucket's upper bound
+     */
+    public long getUpperBound(int bucket) {
+        return upperBounds[bucket];
+    }
+
+    /**
+     * Gets the number of values counted in a bucket
+     * @param bucket the index of the bucket
+     * @return the bucket's count
+     */
+    public long getBucketCount(int bucket) {
+        return bucketCounts[bucket].sum();
+    }
+
+    /**
+     * Clears every recorded value
+     */
+    public void reset() {
+        for (LongAdder bucketCount : bucketCounts) {
+            bucketCount.reset();
+        }
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,31 @@
+package Sudoku.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one call to the solving engine to count a board's solutions
+ */
+@Name("Sudoku.UniquenessCheck")
+@Label("Uniqueness Check")
+@Category({"Sudoku", "Generation"})
+@Description("Counting the solutions of a board to check that it is unique")
+@Enabled(false)
+public class UniquenessCheckEvent extends Event {
+    @Label("Solver")
+    public String solver;
+
+    @Label("Empty Cells")
+    public int emptyCells;
+
+    @Label("Maximum Solutions")
+    @Description("Number of solutions after which the search stops, or 0 for no maximum")
+    public int maxSolutions;
+
+    @Label("Solutions Found")
+    public int solutionsFound;
+}
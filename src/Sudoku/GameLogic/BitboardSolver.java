@@ -0,0 +1,289 @@
+package Sudoku.GameLogic;
+
+/**
+ * Backtracking Sudoku solver over a flat 81-cell board. Digits used by each row, column, and box are tracked as
+ * 9-bit masks, and the search always branches on the empty cell with the fewest remaining candidates. Individual
+ * digits can also be excluded from single cells, which lets the solver search only for solutions that differ from a
+ * known one.
+ * <p>
+ * The loaded board and its masks are kept between calls, and each new board is loaded by updating only the cells that
+ * differ from the last one. Successive uniqueness checks during clue removal differ in only a few cells, so each check
+ * only clears the removed cells and restores the clues of rejected removals instead of reloading all 81 cells.
+ */
+public class BitboardSolver implements SudokuSolver {
+    private static final int ALL_DIGITS = 0x1FF;
+
+    private final int[] cells = new int[81];
+    private final int[] rowMasks = new int[9];
+    private final int[] columnMasks = new int[9];
+    private final int[] boxMasks = new int[9];
+    // Digits that the search may not place in each cell, in addition to those used by the cell's row, column, and box
+    private final int[] exclusionMasks = new int[81];
+    // Cells whose values change when a new board is loaded, placed after every changed cell has been cleared
+    private final int[] changedCells = new int[81];
+    // Whether cells and the masks describe a consistent board that the next board can be loaded on top of
+    private boolean boardLoaded;
+    private int solutionCount;
+    private int maxSolutions;
+    // The array to copy the first solution found to, or null if the solutions are only counted
+    private int[] firstSolution;
+
+    /**
+     * Counts the solutions of a board up to a specified maximum number
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * @return the number of solutions found
+     */
+    @Override
+    public int countSolutions(int[] board, int maxSolutions) {
+        return countSolutions(board, maxSolutions, null);
+    }
+
+    /**
+     * Counts the solutions of a board up to a specified maximum number, copying the first solution found into an
+     * array as soon as the search reaches it
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * @param firstSolution the array to copy the 81 values of the first solution to, or null to only count solutions
+     * @return the number of solutions found
+     */
+    @Override
+    public int countSolutions(int[] board, int maxSolutions, int[] firstSolution) {
+        this.solutionCount = 0;
+        this.maxSolutions = maxSolutions;
+        this.firstSolution = firstSolution;
+
+        try {
+            // A board whose clues already conflict has no solutions
+            if (!updateBoard(board)) {
+                return 0;
+            }
+
+            search();
+
+            return solutionCount;
+        }
+        finally {
+            this.firstSolution = null;
+        }
+    }
+
+    /**
+     * Checks for a solution other than the known one by searching, for each removed cell in turn, for a solution that
+     * differs from the known solution at that cell. Once a cell has been searched, it is fixed to its known value,
+     * since any other solution that differs there would already have been found. Each search stops at its first
+     * solution, and excluding a digit from a removed cell prunes the search from its first branch.
+     * @param board the 81 values of the board after the removal in row-major order, where 0 is an empty cell
+     * @param solution the 81 values of the board's known solution in row-major order
+     * @param removedCells the indices of the cells whose clues were removed
+     * @param numRemoved the number of removed cells at the start of removedCells
+     * @return true if the board has another solution, false if the known solution is still unique
+     */
+    @Override
+    public boolean hasAlternativeSolution(int[] board, int[] solution, int[] removedCells, int numRemoved) {
+        boolean found = false;
+
+        this.solutionCount = 0;
+        this.maxSolutions = 1;
+
+        // A board whose clues already conflict has no solutions at all
+        if (!updateBoard(board)) {
+            return false;
+        }
+
+        for (int index = 0; index < numRemoved && !found; index++) {
+            int cell = removedCells[index];
+
+            // Search for a solution that does not use the known value in this cell
+            exclusionMasks[cell] = 1 << (solution[cell] - 1);
+            found = search();
+            exclusionMasks[cell] = 0;
+
+            // Later searches only need solutions that agree with the known solution here
+            placeValue(cell, solution[cell]);
+        }
+
+        return found;
+    }
+
+    /**
+     * Fills an empty cell and records its digit in the cell's row, column, and box
+     * @param cell the index of the cell
+     * @param value the digit to place
+     */
+    private void placeValue(int cell, int value) {
+        int bit = 1 << (value - 1);
+
+        cells[cell] = value;
+        rowMasks[cell / 9] |= bit;
+        columnMasks[cell % 9] |= bit;
+        boxMasks[GridUnits.box(cell)] |= bit;
+    }
+
+    /**
+     * Empties a filled cell and removes its digit from the cell's row, column, and box
+     * @param cell the index of the cell
+     */
+    private void clearValue(int cell) {
+        int bit = 1 << (cells[cell] - 1);
+
+        cells[cell] = 0;
+        rowMasks[cell / 9] &= ~bit;
+        columnMasks[cell % 9] &= ~bit;
+        boxMasks[GridUnits.box(cell)] &= ~bit;
+    }
+
+    /**
+     * Loads a board into the solver by clearing and placing only the cells that differ from the board already loaded,
+     * or by loading every cell if the last board could not be loaded
+     * @param board the 81 values of the board in row-major order
+     * @return true if the board's clues are consistent, false if any clue conflicts with another
+     */
+    private boolean updateBoard(int[] board) {
+        if (!boardLoaded) {
+            return loadBoard(board);
+        }
+
+        int numChanged = 0;
+
+        // Clear every changed cell first, so that placing a new value never conflicts with a value being removed
+        for (int cell = 0; cell < 81; cell++) {
+            if (board[cell] != cells[cell]) {
+                if (cells[cell] != 0) {
+                    clearValue(cell);
+                }
+
+                if (board[cell] != 0) {
+                    changedCells[numChanged++] = cell;
+                }
+            }
+        }
+
+        for (int index = 0; index < numChanged; index++) {
+            int cell = changedCells[index];
+            int bit = 1 << (board[cell] - 1);
+
+            if (((rowMasks[cell / 9] | columnMasks[cell % 9] | boxMasks[GridUnits.box(cell)]) & bit) != 0) {
+                boardLoaded = false;
+
+                return false;
+            }
+
+            placeValue(cell, board[cell]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies a board into the solver and records the digits used in each row, column, and box
+     * @param board the 81 values of the board in row-major order
+     * @return true if the board's clues are consistent, false if any clue conflicts with another
+     */
+    private boolean loadBoard(int[] board) {
+        boardLoaded = false;
+
+        for (int index = 0; index < 9; index++) {
+            rowMasks[index] = 0;
+            columnMasks[index] = 0;
+            boxMasks[index] = 0;
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            int value = board[cell];
+            cells[cell] = value;
+
+            if (value != 0) {
+                int bit = 1 << (value - 1);
+                int row = cell / 9;
+                int column = cell % 9;
+                int box = GridUnits.box(cell);
+
+                if (((rowMasks[row] | columnMasks[column] | boxMasks[box]) & bit) != 0) {
+                    return false;
+                }
+
+                rowMasks[row] |= bit;
+                columnMasks[column] |= bit;
+                boxMasks[box] |= bit;
+            }
+        }
+
+        boardLoaded = true;
+
+        return true;
+    }
+
+    /**
+     * Recursively fills the empty cell with the fewest candidates, incrementing solutionCount for each full board
+     * @return true if the search should stop because maxSolutions has been reached
+     */
+    private boolean search() {
+        int bestCell = -1;
+        int bestCandidates = 0;
+        int bestCount = 10;
+
+        // Find the empty cell with the minimum remaining values
+        for (int cell = 0; cell < 81; cell++) {
+            if (cells[cell] == 0) {
+                int candidates = ~(rowMasks[cell / 9] | columnMasks[cell % 9] | boxMasks[GridUnits.box(cell)]
+                        | exclusionMasks[cell]) & ALL_DIGITS;
+                int count = Integer.bitCount(candidates);
+
+                // A cell with no candidates means this branch has no solutions
+                if (count == 0) {
+                    return false;
+                }
+
+                if (count < bestCount) {
+                    bestCell = cell;
+                    bestCandidates = candidates;
+                    bestCount = count;
+
+                    if (count == 1) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // If there are no empty cells, the board is a solution
+        if (bestCell == -1) {
+            if (solutionCount == 0 && firstSolution != null) {
+                System.arraycopy(cells, 0, firstSolution, 0, cells.length);
+            }
+
+            solutionCount++;
+
+            return maxSolutions != 0 && solutionCount >= maxSolutions;
+        }
+
+        int row = bestCell / 9;
+        int column = bestCell % 9;
+        int box = GridUnits.box(bestCell);
+
+        // Try each candidate, undoing the placement before trying the next
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+
+            cells[bestCell] = Integer.numberOfTrailingZeros(bit) + 1;
+            rowMasks[row] |= bit;
+            columnMasks[column] |= bit;
+            boxMasks[box] |= bit;
+
+            boolean stop = search();
+
+            rowMasks[row] &= ~bit;
+            columnMasks[column] &= ~bit;
+            boxMasks[box] &= ~bit;
+            cells[bestCell] = 0;
+
+            if (stop) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
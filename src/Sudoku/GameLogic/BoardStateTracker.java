@@ -0,0 +1,190 @@
+package Sudoku.GameLogic;
+
+/**
+ * Tracks the state of a puzzle being played: the value of each tile, how many times each digit occurs in each unit
+ * (see GridUnits), the number of conflicts, and the number of tiles matching the solution. Each move updates the
+ * counts of the three units containing the tile, so checking whether a tile is valid or whether the puzzle is solved
+ * never rescans the board.
+ * <p>
+ * A conflict is a pair of tiles in the same unit with the same value, counted once for each unit the pair shares. A
+ * tracker is not thread-safe, so each game being played needs its own tracker.
+ */
+public class BoardStateTracker {
+    private final int[] values = new int[GridUnits.NUM_CELLS];
+    private final int[] solution;
+    private final boolean[] clueCells = new boolean[GridUnits.NUM_CELLS];
+    // The number of times each digit occurs in each unit, at index (unit * 10) + digit
+    private final int[] digitCounts = new int[GridUnits.NUM_UNITS * 10];
+    private int numConflicts;
+    private int numCorrect;
+    private int numFilled;
+
+    /**
+     * Constructor: Creates a BoardStateTracker for a puzzle with only its clues filled in
+     * @param puzzle the puzzle being played
+     */
+    public BoardStateTracker(Puzzle puzzle) {
+        this(puzzle.getClues(), puzzle.getSolution());
+    }
+
+    /**
+     * Constructor: Creates a BoardStateTracker for a board with only its clues filled in
+     * @param clues the 81 clue values in row-major order, where 0 is an empty tile
+     * @param solution the 81 solution values in row-major order
+     * @throws IllegalArgumentException if the clues or solution do not have 81 values from 0-9
+     */
+    public BoardStateTracker(int[] clues, int[] solution) {
+        if (clues.length != GridUnits.NUM_CELLS || solution.length != GridUnits.NUM_CELLS) {
+            throw new IllegalArgumentException("The clues and solution must each have 81 values");
+        }
+
+        this.solution = solution.clone();
+
+        for (int cell = 0; cell < GridUnits.NUM_CELLS; cell++) {
+            checkValue(clues[cell]);
+            placeValue(cell, clues[cell]);
+            clueCells[cell] = clues[cell] != 0;
+        }
+    }
+
+    /**
+     * Sets the value of a tile that is not a clue, updating the counts of the units containing it
+     * @param cell the index of the tile in row-major order
+     * @param value the new value of the tile, where 0 empties the tile
+     * @throws IllegalArgumentException if the value is not in the range 0-9 or the tile is a clue
+     */
+    public void setValue(int cell, int value) {
+        checkValue(value);
+
+        if (clueCells[cell]) {
+            throw new IllegalArgumentException("Cell " + cell + " is a clue and cannot be changed");
+        }
+
+        if (values[cell] != value) {
+            clearValue(cell);
+            placeValue(cell, value);
+        }
+    }
+
+    public int getValue(int cell) {
+        return values[cell];
+    }
+
+    public boolean isClue(int cell) {
+        return clueCells[cell];
+    }
+
+    /**
+     * Checks whether a tile is valid: either empty, or the only tile with its value in its row, column, and box
+     * @param cell the index of the tile in row-major order
+     * @return true if the tile is valid, false if it conflicts with another tile
+     */
+    public boolean isValid(int cell) {
+        int value = values[cell];
+
+        if (value == 0) {
+            return true;
+        }
+
+        return digitCounts[(GridUnits.rowUnit(cell) * 10) + value] == 1
+                && digitCounts[(GridUnits.columnUnit(cell) * 10) + value] == 1
+                && digitCounts[(GridUnits.boxUnit(cell) * 10) + value] == 1;
+    }
+
+    /**
+     * Gets the number of pairs of tiles with the same value in the same unit, counting a pair once for each unit it
+     * shares
+     * @return the number of conflicts
+     */
+    public int getConflictCount() {
+        return numConflicts;
+    }
+
+    /**
+     * Gets the number of tiles, including clues, whose value matches the solution
+     * @return the number of correct tiles
+     */
+    public int getCorrectCount() {
+        return numCorrect;
+    }
+
+    /**
+     * Gets the number of tiles, including clues, that are not empty
+     * @return the number of filled tiles
+     */
+    public int getFilledCount() {
+        return numFilled;
+    }
+
+    /**
+     * Returns a boolean corresponding to whether every tile matches the solution
+     * @return true if the board is solved, false otherwise
+     */
+    public boolean isSolved() {
+        return numCorrect == GridUnits.NUM_CELLS;
+    }
+
+    /**
+     * Removes a tile's value from the counts and empties the tile
+     * @param cell the index of the tile in row-major order
+     */
+    private void clearValue(int cell) {
+        int value = values[cell];
+
+        if (value == 0) {
+            return;
+        }
+
+        // Removing one of n equal values in a unit removes the n - 1 pairs it was part of
+        for (int unitIndex = 0; unitIndex < 3; unitIndex++) {
+            int countIndex = (GridUnits.cellUnit(cell, unitIndex) * 10) + value;
+
+            digitCounts[countIndex]--;
+            numConflicts -= digitCounts[countIndex];
+        }
+
+        if (value == solution[cell]) {
+            numCorrect--;
+        }
+
+        numFilled--;
+        values[cell] = 0;
+    }
+
+    /**
+     * Places a value in an empty tile and adds it to the counts
+     * @param cell the index of the tile in row-major order
+     * @param value the value to place, where 0 leaves the tile empty
+     */
+    private void placeValue(int cell, int value) {
+        if (value == 0) {
+            return;
+        }
+
+        // Adding a value to a unit with n equal values adds n pairs
+        for (int unitIndex = 0; unitIndex < 3; unitIndex++) {
+            int countIndex = (GridUnits.cellUnit(cell, unitIndex) * 10) + value;
+
+            numConflicts += digitCounts[countIndex];
+            digitCounts[countIndex]++;
+        }
+
+        if (value == solution[cell]) {
+            numCorrect++;
+        }
+
+        numFilled++;
+        values[cell] = value;
+    }
+
+    /**
+     * Checks that a value is in the range 0-9
+     * @param value the value to check
+     * @throws IllegalArgumentException if the value is out of range
+     */
+    private static void checkValue(int value) {
+        if (value < 0 || value > 9) {
+            throw new IllegalArgumentException("Value " + value + " is not in the range 0-9");
+        }
+    }
+}
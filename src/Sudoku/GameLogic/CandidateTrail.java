@@ -0,0 +1,100 @@
+package Sudoku.GameLogic;
+
+import java.util.Arrays;
+
+/**
+ * An undo log of candidate changes for backtracking while filling the grid. Each change records the tile and its
+ * previous candidate bitmask, and a mark is pushed before each tile is filled, so backtracking to a tile only restores
+ * the candidates that changed after it was filled.
+ */
+class CandidateTrail {
+    private SudokuTile[] tiles = new SudokuTile[256];
+    private int[] previousCandidates = new int[256];
+    private int size;
+    private final int[] marks = new int[81];
+    private int numMarks;
+
+    /**
+     * Sets a tile's candidates, recording the previous candidates if they change
+     * @param tile the tile to update
+     * @param candidates the new candidate bitmask
+     */
+    void setCandidates(SudokuTile tile, int candidates) {
+        if (tile.getCandidates() != candidates) {
+            record(tile);
+            tile.setCandidates(candidates);
+        }
+    }
+
+    /**
+     * Removes a candidate from a tile, recording the previous candidates if the tile had the candidate
+     * @param tile the tile to update
+     * @param candidate the candidate to remove
+     */
+    void removeCandidate(SudokuTile tile, int candidate) {
+        if (tile.hasCandidate(candidate)) {
+            record(tile);
+            tile.removeCandidate(candidate);
+        }
+    }
+
+    /**
+     * Marks the current position of the trail before a tile is filled
+     */
+    void pushMark() {
+        marks[numMarks++] = size;
+    }
+
+    /**
+     * Restores every candidate change made since the last mark and removes the mark
+     */
+    void popMark() {
+        undoTo(marks[--numMarks]);
+    }
+
+    /**
+     * Restores every candidate change made since the first mark and removes every mark
+     */
+    void popAllMarks() {
+        if (numMarks > 0) {
+            undoTo(marks[0]);
+            numMarks = 0;
+        }
+    }
+
+    /**
+     * Clears the trail and its marks without restoring any candidates
+     */
+    void clear() {
+        Arrays.fill(tiles, 0, size, null);
+        size = 0;
+        numMarks = 0;
+    }
+
+    /**
+     * Records a tile's current candidates, growing the trail if it is full
+     * @param tile the tile about to change
+     */
+    private void record(SudokuTile tile) {
+        if (size == tiles.length) {
+            tiles = Arrays.copyOf(tiles, size * 2);
+            previousCandidates = Arrays.copyOf(previousCandidates, size * 2);
+        }
+
+        tiles[size] = tile;
+        previousCandidates[size] = tile.getCandidates();
+        size++;
+    }
+
+    /**
+     * Restores changes in reverse order until the trail is back to a given size
+     * @param targetSize the size of the trail to restore to
+     */
+    private void undoTo(int targetSize) {
+        while (size > targetSize) {
+            size--;
+            tiles[size].setCandidates(previousCandidates[size]);
+            tiles[size] = null;
+        }
+    }
+}
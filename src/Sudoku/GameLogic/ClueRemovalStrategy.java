@@ -0,0 +1,22 @@
+package Sudoku.GameLogic;
+
+/**
+ * Decides how clue removal proceeds: how many clues to try to remove in each iteration and how many iterations to run
+ * before giving up on reaching the minimum number of clues. Removal counts greater than one are removed as pairs of
+ * diagonally opposite clues, so they must be even.
+ */
+public interface ClueRemovalStrategy {
+    /**
+     * Gets the number of clues to try to remove in an iteration
+     * @param iteration the number of the iteration, starting from 1
+     * @param filledCount the number of clues currently on the board
+     * @return the number of clues to remove (1 or an even number)
+     */
+    int getRemovalCount(int iteration, int filledCount);
+
+    /**
+     * Gets the maximum number of iterations to run
+     * @return the iteration budget
+     */
+    int getMaxIterations();
+}
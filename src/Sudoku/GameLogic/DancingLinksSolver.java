@@ -0,0 +1,338 @@
+package Sudoku.GameLogic;
+
+/**
+ * Sudoku solver using Knuth's Algorithm X with Dancing Links. The board is treated as an exact cover problem with
+ * 324 constraint columns (cell, row-digit, column-digit, and box-digit) and 729 candidate rows (one per cell and
+ * digit). All nodes are stored in preallocated arrays, so a search does not allocate any objects. Candidate rows can
+ * also be hidden from the matrix, which lets the solver search only for solutions that differ from a known one.
+ */
+public class DancingLinksSolver implements SudokuSolver {
+    private static final int NUM_COLUMNS = 324;
+    private static final int NUM_ROWS = 729;
+    private static final int NODES_PER_ROW = 4;
+    private static final int ROOT = 0;
+    // Node 0 is the root, nodes 1-324 are column headers, and the remaining nodes belong to candidate rows
+    private static final int FIRST_ROW_NODE = NUM_COLUMNS + 1;
+    private static final int NUM_NODES = FIRST_ROW_NODE + (NUM_ROWS * NODES_PER_ROW);
+
+    private final int[] left = new int[NUM_NODES];
+    private final int[] right = new int[NUM_NODES];
+    private final int[] up = new int[NUM_NODES];
+    private final int[] down = new int[NUM_NODES];
+    private final int[] columnOf = new int[NUM_NODES];
+    private final int[] columnSize = new int[NUM_COLUMNS + 1];
+    // Candidate rows selected for the clues of the current board, used to restore the links afterwards
+    private final int[] clueRows = new int[81];
+    private int numClueRows;
+    private int solutionCount;
+    private int maxSolutions;
+
+    /**
+     * Constructor: Creates a DancingLinksSolver and links the full exact cover matrix
+     */
+    public DancingLinksSolver() {
+        // Link the column headers into a circular list with the root
+        for (int header = ROOT; header <= NUM_COLUMNS; header++) {
+            left[header] = (header == ROOT) ? NUM_COLUMNS : (header - 1);
+            right[header] = (header == NUM_COLUMNS) ? ROOT : (header + 1);
+            up[header] = header;
+            down[header] = header;
+            columnOf[header] = header;
+        }
+
+        // Add a row of four nodes for each cell and digit
+        for (int row = 0; row < NUM_ROWS; row++) {
+            int cell = row / 9;
+            int digit = row % 9;
+            int[] headers = {
+                    1 + cell,
+                    1 + 81 + ((cell / 9) * 9) + digit,
+                    1 + 162 + ((cell % 9) * 9) + digit,
+                    1 + 243 + ((((cell / 27) * 3) + ((cell % 9) / 3)) * 9) + digit
+            };
+            int firstNode = FIRST_ROW_NODE + (row * NODES_PER_ROW);
+
+            for (int offset = 0; offset < NODES_PER_ROW; offset++) {
+                int node = firstNode + offset;
+                int header = headers[offset];
+
+                // Link the node horizontally within its row
+                left[node] = firstNode + ((offset + NODES_PER_ROW - 1) % NODES_PER_ROW);
+                right[node] = firstNode + ((offset + 1) % NODES_PER_ROW);
+
+                // Link the node vertically at the bottom of its column
+                columnOf[node] = header;
+                up[node] = up[header];
+                down[node] = header;
+                down[up[header]] = node;
+                up[header] = node;
+                columnSize[header]++;
+            }
+        }
+    }
+
+    /**
+     * Counts the solutions of a board up to a specified maximum number
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * @return the number of solutions found
+     */
+    @Override
+    public int countSolutions(int[] board, int maxSolutions) {
+        this.solutionCount = 0;
+        this.maxSolutions = maxSolutions;
+
+        if (selectClues(board)) {
+            search();
+        }
+
+        deselectClues();
+
+        return solutionCount;
+    }
+
+    /**
+     * Checks for a solution other than the known one by searching, for each removed cell in turn, with the candidate
+     * row of the known value in that cell hidden from the matrix. Once a cell has been searched, its known value is
+     * selected as a clue, since any other solution that differs there would already have been found. Each search
+     * stops at its first solution.
+     * @param board the 81 values of the board after the removal in row-major order, where 0 is an empty cell
+     * @param solution the 81 values of the board's known solution in row-major order
+     * @param removedCells the indices of the cells whose clues were removed
+     * @param numRemoved the number of removed cells at the start of removedCells
+     * @return true if the board has another solution, false if the known solution is still unique
+     */
+    @Override
+    public boolean hasAlternativeSolution(int[] board, int[] solution, int[] removedCells, int numRemoved) {
+        boolean found = false;
+        boolean consistent = selectClues(board);
+
+        this.maxSolutions = 1;
+
+        for (int index = 0; index < numRemoved && consistent && !found; index++) {
+            int knownRow = rowNode(removedCells[index], solution[removedCells[index]]);
+
+            // The known value must still fit, or the board's clues do not agree with the known solution
+            if (!rowIsAvailable(knownRow)) {
+                deselectClues();
+
+                return SudokuSolver.super.hasAlternativeSolution(board, solution, removedCells, numRemoved);
+            }
+
+            // Search for a solution that does not use the known value in this cell
+            this.solutionCount = 0;
+            hideRow(knownRow);
+            found = search();
+            unhideRow(knownRow);
+
+            // Later searches only need solutions that agree with the known solution here
+            selectRow(knownRow);
+            clueRows[numClueRows++] = knownRow;
+        }
+
+        deselectClues();
+
+        return found;
+    }
+
+    /**
+     * Selects the candidate row of each clue of a board, stopping if a clue conflicts with an earlier one
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @return true if the board's clues are consistent, false if any clue conflicts with another
+     */
+    private boolean selectClues(int[] board) {
+        numClueRows = 0;
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (board[cell] != 0) {
+                int firstNode = rowNode(cell, board[cell]);
+
+                if (!rowIsAvailable(firstNode)) {
+                    return false;
+                }
+
+                selectRow(firstNode);
+                clueRows[numClueRows++] = firstNode;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Restores the matrix for the next board, deselecting the selected rows in reverse order
+     */
+    private void deselectClues() {
+        while (numClueRows > 0) {
+            deselectRow(clueRows[--numClueRows]);
+        }
+    }
+
+    /**
+     * Gets the first node of the candidate row for a digit in a cell
+     * @param cell the index of the cell
+     * @param digit the digit, from 1 to 9
+     * @return the first node of the candidate row
+     */
+    private static int rowNode(int cell, int digit) {
+        return FIRST_ROW_NODE + (((cell * 9) + (digit - 1)) * NODES_PER_ROW);
+    }
+
+    /**
+     * Recursively searches for exact covers, incrementing solutionCount for each one found
+     * @return true if the search should stop because maxSolutions has been reached
+     */
+    private boolean search() {
+        // If every column is covered, the board is a solution
+        if (right[ROOT] == ROOT) {
+            solutionCount++;
+
+            return maxSolutions != 0 && solutionCount >= maxSolutions;
+        }
+
+        // Choose the column with the fewest remaining rows
+        int column = right[ROOT];
+
+        for (int header = right[column]; header != ROOT; header = right[header]) {
+            if (columnSize[header] < columnSize[column]) {
+                column = header;
+            }
+        }
+
+        if (columnSize[column] == 0) {
+            return false;
+        }
+
+        boolean stop = false;
+
+        cover(column);
+
+        for (int rowNode = down[column]; rowNode != column && !stop; rowNode = down[rowNode]) {
+            for (int node = right[rowNode]; node != rowNode; node = right[node]) {
+                cover(columnOf[node]);
+            }
+
+            stop = search();
+
+            for (int node = left[rowNode]; node != rowNode; node = left[node]) {
+                uncover(columnOf[node]);
+            }
+        }
+
+        uncover(column);
+
+        return stop;
+    }
+
+    /**
+     * Checks that none of the columns in a candidate row have already been covered
+     * @param firstNode the first node of the candidate row
+     * @return true if the row can be selected, false otherwise
+     */
+    private boolean rowIsAvailable(int firstNode) {
+        int node = firstNode;
+
+        do {
+            int header = columnOf[node];
+
+            // A covered header has been unlinked from its neighbours
+            if (right[left[header]] != header) {
+                return false;
+            }
+
+            node = right[node];
+        } while (node != firstNode);
+
+        return true;
+    }
+
+    /**
+     * Selects a candidate row as part of the solution by covering each of its columns
+     * @param firstNode the first node of the candidate row
+     */
+    private void selectRow(int firstNode) {
+        int node = firstNode;
+
+        do {
+            cover(columnOf[node]);
+            node = right[node];
+        } while (node != firstNode);
+    }
+
+    /**
+     * Undoes selectRow by uncovering the row's columns in reverse order
+     * @param firstNode the first node of the candidate row
+     */
+    private void deselectRow(int firstNode) {
+        int node = left[firstNode];
+
+        do {
+            uncover(columnOf[node]);
+            node = left[node];
+        } while (node != left[firstNode]);
+    }
+
+    /**
+     * Removes a candidate row from each of its columns, so that the search cannot select it
+     * @param firstNode the first node of the candidate row
+     */
+    private void hideRow(int firstNode) {
+        int node = firstNode;
+
+        do {
+            down[up[node]] = down[node];
+            up[down[node]] = up[node];
+            columnSize[columnOf[node]]--;
+            node = right[node];
+        } while (node != firstNode);
+    }
+
+    /**
+     * Undoes hideRow by relinking the row's nodes into their columns in reverse order
+     * @param firstNode the first node of the candidate row
+     */
+    private void unhideRow(int firstNode) {
+        int node = left[firstNode];
+
+        do {
+            columnSize[columnOf[node]]++;
+            down[up[node]] = node;
+            up[down[node]] = node;
+            node = left[node];
+        } while (node != left[firstNode]);
+    }
+
+    /**
+     * Removes a column from the header list and removes every row in that column from the other columns
+     * @param header the header node of the column
+     */
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+
+        for (int rowNode = down[header]; rowNode != header; rowNode = down[rowNode]) {
+            for (int node = right[rowNode]; node != rowNode; node = right[node]) {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                columnSize[columnOf[node]]--;
+            }
+        }
+    }
+
+    /**
+     * Restores a column removed by cover, relinking rows in the reverse order they were removed
+     * @param header the header node of the column
+     */
+    private void uncover(int header) {
+        for (int rowNode = up[header]; rowNode != header; rowNode = up[rowNode]) {
+            for (int node = left[rowNode]; node != rowNode; node = left[node]) {
+                columnSize[columnOf[node]]++;
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
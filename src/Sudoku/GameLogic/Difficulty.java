@@ -0,0 +1,15 @@
+package Sudoku.GameLogic;
+
+/**
+ * Difficulty levels for puzzles, based on the hardest solving technique that a puzzle requires
+ */
+public enum Difficulty {
+    // Solvable using only naked and hidden singles
+    EASY,
+    // Requires subsets or intersections (pointing and claiming)
+    MEDIUM,
+    // Requires fish or wings
+    HARD,
+    // Cannot be solved by the technique ladder without guessing
+    EXPERT
+}
@@ -0,0 +1,32 @@
+package Sudoku.GameLogic;
+
+import java.util.Set;
+
+/**
+ * The result of grading a puzzle: the techniques that were required, the total score, and whether the technique
+ * ladder was able to solve the puzzle
+ * @param techniques the set of techniques that were needed at least once
+ * @param score the sum of the weights of each technique application
+ * @param solved true if the puzzle was solved without guessing, false otherwise
+ */
+public record DifficultyGrade(Set<SolvingTechnique> techniques, int score, boolean solved) {
+    /**
+     * Gets the difficulty level of the graded puzzle, based on the hardest technique it required
+     * @return the Difficulty of the puzzle
+     */
+    public Difficulty difficulty() {
+        if (!solved) {
+            return Difficulty.EXPERT;
+        }
+
+        Difficulty difficulty = Difficulty.EASY;
+
+        for (SolvingTechnique technique : techniques) {
+            if (technique.getDifficulty().compareTo(difficulty) > 0) {
+                difficulty = technique.getDifficulty();
+            }
+        }
+
+        return difficulty;
+    }
+}
@@ -0,0 +1,577 @@
+package Sudoku.GameLogic;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Grades puzzles by solving them with an ordered ladder of human solving techniques. After every step that makes
+ * progress, the grader goes back to the simplest technique, so each technique is only used when nothing simpler works.
+ * The board is stored as flat arrays of values and candidate bitmasks, and a grader can be reused for any number of
+ * puzzles without allocating new board state.
+ */
+public class DifficultyGrader {
+    private static final int ALL_CANDIDATES = 0x1FF;
+    private static final SolvingTechnique[] TECHNIQUES = SolvingTechnique.values();
+    // Every 9-bit mask with exactly 2 or 3 bits set, used for choosing subsets of cells, digits, rows, or columns
+    private static final int[][] COMBINATIONS = new int[4][];
+
+    static {
+        for (int size = 2; size <= 3; size++) {
+            int numCombinations = 0;
+            COMBINATIONS[size] = new int[(size == 2) ? 36 : 84];
+
+            for (int mask = 0; mask <= ALL_CANDIDATES; mask++) {
+                if (Integer.bitCount(mask) == size) {
+                    COMBINATIONS[size][numCombinations++] = mask;
+                }
+            }
+        }
+    }
+
+    private final int[] values = new int[81];
+    private final int[] candidates = new int[81];
+    // Positions (0-8) within a unit where each digit is a candidate, indexed by digit - 1
+    private final int[] digitPositions = new int[9];
+    // Positions (0-8) within each base line of a fish where the digit is a candidate
+    private final int[] linePositions = new int[9];
+    private int emptyCount;
+    private boolean contradiction;
+
+    /**
+     * Grades a puzzle by solving it with the technique ladder
+     * @param clues the 81 clue values of the puzzle in row-major order, where 0 is an empty tile
+     * @return the DifficultyGrade of the puzzle
+     */
+    public DifficultyGrade grade(int[] clues) {
+        Set<SolvingTechnique> techniques = EnumSet.noneOf(SolvingTechnique.class);
+        int score = 0;
+
+        loadClues(clues);
+
+        // Apply the simplest technique that makes progress until the puzzle is solved or no technique works
+        while (emptyCount > 0 && !contradiction) {
+            SolvingTechnique technique = applyNextTechnique();
+
+            if (technique == null) {
+                break;
+            }
+
+            techniques.add(technique);
+            score += technique.getWeight();
+        }
+
+        return new DifficultyGrade(techniques, score, (emptyCount == 0 && !contradiction));
+    }
+
+    /**
+     * Resets the board state and places each clue
+     * @param clues the 81 clue values in row-major order
+     */
+    private void loadClues(int[] clues) {
+        emptyCount = 81;
+        contradiction = false;
+
+        for (int cell = 0; cell < 81; cell++) {
+            values[cell] = 0;
+            candidates[cell] = ALL_CANDIDATES;
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (clues[cell] != 0) {
+                // A clue that is no longer a candidate conflicts with an earlier clue
+                if ((candidates[cell] & (1 << (clues[cell] - 1))) == 0) {
+                    contradiction = true;
+
+                    return;
+                }
+
+                place(cell, clues[cell]);
+            }
+        }
+    }
+
+    /**
+     * Tries each technique in ladder order, stopping at the first one that makes progress
+     * @return the technique that was applied, or null if no technique made progress
+     */
+    private SolvingTechnique applyNextTechnique() {
+        for (SolvingTechnique technique : TECHNIQUES) {
+            boolean progress = switch (technique) {
+                case NAKED_SINGLE -> applyNakedSingles();
+                case HIDDEN_SINGLE -> applyHiddenSingles();
+                case NAKED_PAIR -> applyNakedSubsets(2);
+                case HIDDEN_PAIR -> applyHiddenSubsets(2);
+                case NAKED_TRIPLE -> applyNakedSubsets(3);
+                case HIDDEN_TRIPLE -> applyHiddenSubsets(3);
+                case POINTING -> applyPointing();
+                case CLAIMING -> applyClaiming();
+                case X_WING -> applyFish(2);
+                case SWORDFISH -> applyFish(3);
+                case XY_WING -> applyXYWings();
+            };
+
+            if (contradiction) {
+                return null;
+            }
+
+            if (progress) {
+                return technique;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Fills a cell with a digit and removes the digit from the candidates of the cell's peers
+     * @param cell the index of the cell
+     * @param digit the digit to place
+     */
+    private void place(int cell, int digit) {
+        int bit = 1 << (digit - 1);
+
+        values[cell] = digit;
+        candidates[cell] = 0;
+        emptyCount--;
+
+        for (int peer : GridUnits.PEERS[cell]) {
+            candidates[peer] &= ~bit;
+        }
+    }
+
+    /**
+     * Removes candidates from an empty cell
+     * @param cell the index of the cell
+     * @param mask the bitmask of candidates to remove
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean eliminate(int cell, int mask) {
+        if (values[cell] != 0 || (candidates[cell] & mask) == 0) {
+            return false;
+        }
+
+        candidates[cell] &= ~mask;
+
+        if (candidates[cell] == 0) {
+            contradiction = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Fills every empty cell that has only one candidate
+     * @return true if any cell was filled, false otherwise
+     */
+    private boolean applyNakedSingles() {
+        boolean progress = false;
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (values[cell] == 0) {
+                int mask = candidates[cell];
+
+                if (mask == 0) {
+                    contradiction = true;
+
+                    return false;
+                }
+
+                if ((mask & (mask - 1)) == 0) {
+                    place(cell, Integer.numberOfTrailingZeros(mask) + 1);
+                    progress = true;
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Fills every cell that is the only place for a digit within one of its units
+     * @return true if any cell was filled, false otherwise
+     */
+    private boolean applyHiddenSingles() {
+        boolean progress = false;
+
+        for (int[] unit : GridUnits.UNIT_CELLS) {
+            int once = 0;
+            int twice = 0;
+            int placed = 0;
+
+            for (int cell : unit) {
+                if (values[cell] != 0) {
+                    placed |= 1 << (values[cell] - 1);
+                }
+                else {
+                    twice |= once & candidates[cell];
+                    once |= candidates[cell];
+                }
+            }
+
+            // Every digit must be either placed or possible somewhere in the unit
+            if ((once | placed) != ALL_CANDIDATES) {
+                contradiction = true;
+
+                return false;
+            }
+
+            int singles = once & ~twice;
+
+            while (singles != 0) {
+                int bit = singles & -singles;
+                singles ^= bit;
+
+                for (int cell : unit) {
+                    if (values[cell] == 0 && (candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        progress = true;
+
+                        break;
+                    }
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds groups of cells in a unit whose combined candidates contain exactly as many digits as there are cells,
+     * removing those digits from the rest of the unit
+     * @param size the number of cells in each group (2 for pairs, 3 for triples)
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyNakedSubsets(int size) {
+        boolean progress = false;
+
+        for (int[] unit : GridUnits.UNIT_CELLS) {
+            for (int positions : COMBINATIONS[size]) {
+                int union = 0;
+                boolean allEmpty = true;
+
+                for (int remaining = positions; remaining != 0; remaining &= (remaining - 1)) {
+                    int cell = unit[Integer.numberOfTrailingZeros(remaining)];
+
+                    if (values[cell] != 0) {
+                        allEmpty = false;
+
+                        break;
+                    }
+
+                    union |= candidates[cell];
+                }
+
+                if (!allEmpty || Integer.bitCount(union) != size) {
+                    continue;
+                }
+
+                for (int position = 0; position < 9; position++) {
+                    if ((positions & (1 << position)) == 0) {
+                        progress |= eliminate(unit[position], union);
+                    }
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds groups of digits that can only go in the same group of cells within a unit, removing all other candidates
+     * from those cells
+     * @param size the number of digits in each group (2 for pairs, 3 for triples)
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyHiddenSubsets(int size) {
+        boolean progress = false;
+
+        for (int[] unit : GridUnits.UNIT_CELLS) {
+            loadDigitPositions(unit);
+
+            for (int digits : COMBINATIONS[size]) {
+                int union = 0;
+                boolean allUnplaced = true;
+
+                for (int remaining = digits; remaining != 0; remaining &= (remaining - 1)) {
+                    int positions = digitPositions[Integer.numberOfTrailingZeros(remaining)];
+
+                    // Digits that are already placed have no positions
+                    if (positions == 0) {
+                        allUnplaced = false;
+
+                        break;
+                    }
+
+                    union |= positions;
+                }
+
+                if (!allUnplaced || Integer.bitCount(union) != size) {
+                    continue;
+                }
+
+                for (int remaining = union; remaining != 0; remaining &= (remaining - 1)) {
+                    progress |= eliminate(unit[Integer.numberOfTrailingZeros(remaining)], ~digits & ALL_CANDIDATES);
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds digits whose only positions in a box share a row or column, removing the digit from the rest of that row
+     * or column
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyPointing() {
+        boolean progress = false;
+
+        for (int box = 18; box < 27; box++) {
+            int[] unit = GridUnits.UNIT_CELLS[box];
+
+            loadDigitPositions(unit);
+
+            for (int digit = 0; digit < 9; digit++) {
+                int positions = digitPositions[digit];
+
+                if (positions == 0) {
+                    continue;
+                }
+
+                int firstCell = unit[Integer.numberOfTrailingZeros(positions)];
+                int lastCell = unit[31 - Integer.numberOfLeadingZeros(positions)];
+                int line = -1;
+
+                // Box positions 0-2, 3-5, and 6-8 are rows, while positions 0/3/6, 1/4/7, and 2/5/8 are columns
+                if ((firstCell / 9) == (lastCell / 9)) {
+                    line = firstCell / 9;
+                }
+                else if (((positions & 0x049) == positions) || ((positions & 0x092) == positions)
+                        || ((positions & 0x124) == positions)) {
+                    line = 9 + (firstCell % 9);
+                }
+
+                if (line != -1) {
+                    progress |= eliminateOutsideUnit(GridUnits.UNIT_CELLS[line], box, 1 << digit);
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds digits whose only positions in a row or column are all in the same box, removing the digit from the rest
+     * of that box
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyClaiming() {
+        boolean progress = false;
+
+        for (int line = 0; line < 18; line++) {
+            int[] unit = GridUnits.UNIT_CELLS[line];
+
+            loadDigitPositions(unit);
+
+            for (int digit = 0; digit < 9; digit++) {
+                int positions = digitPositions[digit];
+
+                if (positions == 0) {
+                    continue;
+                }
+
+                // Line positions 0-2, 3-5, and 6-8 each fall within a single box
+                if (((positions & 0x007) == positions) || ((positions & 0x038) == positions)
+                        || ((positions & 0x1C0) == positions)) {
+                    int cell = unit[Integer.numberOfTrailingZeros(positions)];
+                    int box = 18 + (((cell / 27) * 3) + ((cell % 9) / 3));
+
+                    progress |= eliminateOutsideUnit(GridUnits.UNIT_CELLS[box], line, 1 << digit);
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds a digit whose positions in a group of rows (or columns) are confined to the same number of columns (or
+     * rows), removing the digit from the rest of those columns (or rows)
+     * @param size the number of rows or columns in the fish (2 for an X-Wing, 3 for a Swordfish)
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyFish(int size) {
+        boolean progress = false;
+
+        for (int digit = 0; digit < 9; digit++) {
+            int bit = 1 << digit;
+
+            // Use rows as the base lines first, then columns
+            for (int baseOffset = 0; baseOffset <= 9; baseOffset += 9) {
+                int coverOffset = 9 - baseOffset;
+                for (int line = 0; line < 9; line++) {
+                    linePositions[line] = 0;
+
+                    for (int position = 0; position < 9; position++) {
+                        int cell = GridUnits.UNIT_CELLS[baseOffset + line][position];
+
+                        if (values[cell] == 0 && (candidates[cell] & bit) != 0) {
+                            linePositions[line] |= 1 << position;
+                        }
+                    }
+                }
+
+                for (int baseLines : COMBINATIONS[size]) {
+                    int union = 0;
+                    boolean validBase = true;
+
+                    for (int remaining = baseLines; remaining != 0; remaining &= (remaining - 1)) {
+                        int positions = linePositions[Integer.numberOfTrailingZeros(remaining)];
+                        int count = Integer.bitCount(positions);
+
+                        if (count < 2 || count > size) {
+                            validBase = false;
+
+                            break;
+                        }
+
+                        union |= positions;
+                    }
+
+                    if (!validBase || Integer.bitCount(union) != size) {
+                        continue;
+                    }
+
+                    // Remove the digit from the cover lines everywhere except the base lines
+                    for (int remaining = union; remaining != 0; remaining &= (remaining - 1)) {
+                        int[] coverUnit = GridUnits.UNIT_CELLS[coverOffset + Integer.numberOfTrailingZeros(remaining)];
+
+                        for (int position = 0; position < 9; position++) {
+                            if ((baseLines & (1 << position)) == 0) {
+                                progress |= eliminate(coverUnit[position], bit);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Finds XY-Wings: a pivot cell with candidates {x, y} that sees a cell with {x, z} and a cell with {y, z}. Since
+     * one of the two pincers must be z, z is removed from every cell that sees both pincers.
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean applyXYWings() {
+        boolean progress = false;
+
+        for (int pivot = 0; pivot < 81; pivot++) {
+            int pivotMask = candidates[pivot];
+
+            if (values[pivot] != 0 || Integer.bitCount(pivotMask) != 2) {
+                continue;
+            }
+
+            for (int firstPincer : GridUnits.PEERS[pivot]) {
+                int firstMask = candidates[firstPincer];
+
+                if (values[firstPincer] != 0 || Integer.bitCount(firstMask) != 2
+                        || Integer.bitCount(firstMask & pivotMask) != 1) {
+                    continue;
+                }
+
+                int zBit = firstMask & ~pivotMask;
+                int secondMask = (pivotMask & ~firstMask) | zBit;
+
+                for (int secondPincer : GridUnits.PEERS[pivot]) {
+                    if (secondPincer == firstPincer || values[secondPincer] != 0
+                            || candidates[secondPincer] != secondMask) {
+                        continue;
+                    }
+
+                    for (int cell : GridUnits.PEERS[firstPincer]) {
+                        if (cell != secondPincer && isPeer(cell, secondPincer)) {
+                            progress |= eliminate(cell, zBit);
+                        }
+                    }
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Records the positions within a unit where each digit is still a candidate
+     * @param unit the cells of the unit
+     */
+    private void loadDigitPositions(int[] unit) {
+        for (int digit = 0; digit < 9; digit++) {
+            digitPositions[digit] = 0;
+        }
+
+        for (int position = 0; position < 9; position++) {
+            int cell = unit[position];
+
+            if (values[cell] == 0) {
+                for (int remaining = candidates[cell]; remaining != 0; remaining &= (remaining - 1)) {
+                    digitPositions[Integer.numberOfTrailingZeros(remaining)] |= 1 << position;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes candidates from every cell of a unit that is not also in another unit
+     * @param unit the cells to remove candidates from
+     * @param excludedUnit the index of the unit whose cells are left unchanged
+     * @param mask the bitmask of candidates to remove
+     * @return true if any candidate was removed, false otherwise
+     */
+    private boolean eliminateOutsideUnit(int[] unit, int excludedUnit, int mask) {
+        boolean progress = false;
+
+        for (int cell : unit) {
+            if (!unitContains(excludedUnit, cell)) {
+                progress |= eliminate(cell, mask);
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Returns a boolean corresponding to whether a unit contains a cell
+     * @param unit the index of the unit (0-26)
+     * @param cell the index of the cell
+     * @return true if the cell is in the unit, false otherwise
+     */
+    private static boolean unitContains(int unit, int cell) {
+        if (unit < 9) {
+            return (cell / 9) == unit;
+        }
+
+        if (unit < 18) {
+            return (cell % 9) == (unit - 9);
+        }
+
+        return (((cell / 27) * 3) + ((cell % 9) / 3)) == (unit - 18);
+    }
+
+    /**
+     * Returns a boolean corresponding to whether two different cells share a row, column, or box
+     * @param first the index of the first cell
+     * @param second the index of the second cell
+     * @return true if the cells are peers, false otherwise
+     */
+    private static boolean isPeer(int first, int second) {
+        if (first == second) {
+            return false;
+        }
+
+        return (first / 9) == (second / 9) || (first % 9) == (second % 9)
+                || (((first / 27) == (second / 27)) && (((first % 9) / 3) == ((second % 9) / 3)));
+    }
+}
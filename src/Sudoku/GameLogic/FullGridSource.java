@@ -0,0 +1,11 @@
+package Sudoku.GameLogic;
+
+/**
+ * The ways PuzzleGenerator can produce the full grid that clues are removed from
+ */
+public enum FullGridSource {
+    // Randomized search with cross-hatch scanning and backtracking (assignFirstNine and fillGrid)
+    SEARCH,
+    // A random validity-preserving transform of one of a small set of seed grids (see GridTransformer)
+    TRANSFORM
+}
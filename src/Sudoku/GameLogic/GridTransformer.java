@@ -0,0 +1,185 @@
+package Sudoku.GameLogic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Produces random full grids by applying validity-preserving transforms to a small set of seed grids. Relabeling the
+ * digits, permuting the rows within each band, permuting the bands, doing the same for columns and stacks, and
+ * transposing the grid all map a valid grid to another valid grid, giving up to 9! * 6^8 * 2 (over 1.2 trillion)
+ * distinct grids from each seed without any search.
+ */
+public class GridTransformer {
+    // Valid full grids in row-major order, each generated by the SEARCH source
+    private static final int[][] DEFAULT_SEED_GRIDS = Arrays.stream(new String[] {
+            "649753182217648395538291764365489217821376549794125836153967428476812953982534671",
+            "831579426574263918692481375723948561159726834486315297367852149915634782248197653",
+            "512938476968472513437615298196843752723591684854726139249357861385164927671289345",
+            "856921743423587619917634528231765894574892361689413275792348156168259437345176982",
+            "243951678715864932698273415476128593931547826582639741167395284359482167824716359",
+            "967825341453179862182463759825714693374596218619382574541638927236947185798251436",
+            "492617853157823694368945271534261789621798345879534126283159467916472538745386912",
+            "615743298248591637793862145874129563152386479936475812481957326327618954569234781"
+    }).map(seedGrid -> seedGrid.chars().map(digit -> digit - '0').toArray()).toArray(int[][]::new);
+
+    private final int[][] seedGrids;
+    private final int[] digitMap = new int[10];
+    private final int[] rowMap = new int[9];
+    private final int[] columnMap = new int[9];
+    private final int[] bandOrder = new int[3];
+    private final int[] lineOrder = new int[3];
+
+    /**
+     * Constructor: Creates a GridTransformer using the built-in seed grids
+     */
+    public GridTransformer() {
+        this.seedGrids = DEFAULT_SEED_GRIDS;
+    }
+
+    /**
+     * Constructor: Creates a GridTransformer using the given seed grids
+     * @param seedGrids the valid full grids to transform, each with 81 values in row-major order
+     * @throws IllegalArgumentException if there are no seed grids or any seed grid is not a valid full grid
+     */
+    public GridTransformer(List<int[]> seedGrids) {
+        if (seedGrids.isEmpty()) {
+            throw new IllegalArgumentException("At least one seed grid is required");
+        }
+
+        this.seedGrids = new int[seedGrids.size()][];
+
+        for (int index = 0; index < seedGrids.size(); index++) {
+            int[] seedGrid = seedGrids.get(index);
+
+            if (!isValidFullGrid(seedGrid)) {
+                throw new IllegalArgumentException("Seed grid " + index + " is not a valid full grid");
+            }
+
+            this.seedGrids[index] = seedGrid.clone();
+        }
+    }
+
+    /**
+     * Creates a random full grid from a random seed grid
+     * @param random the random number generator choosing the seed grid and transforms
+     * @return the 81 values of the new grid in row-major order
+     */
+    public int[] nextGrid(RandomGenerator random) {
+        int[] grid = new int[81];
+
+        nextGrid(random, grid);
+
+        return grid;
+    }
+
+    /**
+     * Writes a random full grid from a random seed grid into an existing array
+     * @param random the random number generator choosing the seed grid and transforms
+     * @param grid the array to write the 81 values of the new grid to in row-major order
+     */
+    public void nextGrid(RandomGenerator random, int[] grid) {
+        int[] seedGrid = seedGrids[random.nextInt(seedGrids.length)];
+
+        // Relabel the digits with a random permutation of 1-9
+        for (int digit = 1; digit <= 9; digit++) {
+            digitMap[digit] = digit;
+        }
+
+        shuffle(digitMap, 1, 9, random);
+
+        // Permute the bands and the rows within each band, then the same for stacks and columns
+        shuffleLines(rowMap, random);
+        shuffleLines(columnMap, random);
+
+        boolean transpose = random.nextBoolean();
+
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 9; column++) {
+                int seedCell = transpose ? ((columnMap[column] * 9) + rowMap[row])
+                        : ((rowMap[row] * 9) + columnMap[column]);
+
+                grid[(row * 9) + column] = digitMap[seedGrid[seedCell]];
+            }
+        }
+    }
+
+    /**
+     * Fills a map from the 9 rows (or columns) of the new grid to those of the seed grid, shuffling the order of the
+     * three bands (or stacks) and the order of the three lines within each of them
+     * @param lineMap the array of 9 lines to fill
+     * @param random the random number generator to shuffle with
+     */
+    private void shuffleLines(int[] lineMap, RandomGenerator random) {
+        for (int band = 0; band < 3; band++) {
+            bandOrder[band] = band;
+        }
+
+        shuffle(bandOrder, 0, 3, random);
+
+        for (int band = 0; band < 3; band++) {
+            for (int line = 0; line < 3; line++) {
+                lineOrder[line] = line;
+            }
+
+            shuffle(lineOrder, 0, 3, random);
+
+            for (int line = 0; line < 3; line++) {
+                lineMap[(band * 3) + line] = (bandOrder[band] * 3) + lineOrder[line];
+            }
+        }
+    }
+
+    /**
+     * Shuffles part of an array in place with the Fisher-Yates algorithm
+     * @param values the array to shuffle
+     * @param start the first index to shuffle
+     * @param length the number of values to shuffle
+     * @param random the random number generator to shuffle with
+     */
+    private static void shuffle(int[] values, int start, int length, RandomGenerator random) {
+        for (int index = length - 1; index > 0; index--) {
+            int swapIndex = random.nextInt(index + 1);
+            int value = values[start + index];
+
+            values[start + index] = values[start + swapIndex];
+            values[start + swapIndex] = value;
+        }
+    }
+
+    /**
+     * Checks that a grid has 81 values and that every row, column, and box contains each digit 1-9 exactly once
+     * @param grid the grid to check in row-major order
+     * @return true if the grid is a valid full grid, false otherwise
+     */
+    private static boolean isValidFullGrid(int[] grid) {
+        if (grid.length != 81) {
+            return false;
+        }
+
+        int[] rowMasks = new int[9];
+        int[] columnMasks = new int[9];
+        int[] boxMasks = new int[9];
+
+        for (int cell = 0; cell < 81; cell++) {
+            int value = grid[cell];
+
+            if (value < 1 || value > 9) {
+                return false;
+            }
+
+            int bit = 1 << (value - 1);
+            int box = ((cell / 27) * 3) + ((cell % 9) / 3);
+
+            if (((rowMasks[cell / 9] | columnMasks[cell % 9] | boxMasks[box]) & bit) != 0) {
+                return false;
+            }
+
+            rowMasks[cell / 9] |= bit;
+            columnMasks[cell % 9] |= bit;
+            boxMasks[box] |= bit;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package Sudoku.GameLogic;
+
+/**
+ * Precomputed tables of the units (rows, columns, and boxes) and peers of the cells of the 9x9 grid, where each cell
+ * is identified by its index in row-major order (row * 9 + column). The tables are built once and looking up a unit or
+ * peer never allocates. Outside this package they are only exposed through accessors, so they cannot be modified;
+ * the solvers and grader in this package read the unit and peer arrays directly to iterate them in their hot loops,
+ * and must never write to them.
+ * <p>
+ * Units 0-8 are the rows, units 9-17 are the columns, and units 18-26 are the boxes in row-major order. The cells of
+ * each unit are listed in row-major order. The peers of a cell are the 20 other cells sharing a unit with it: the 8
+ * others in its row, then the 8 others in its column, then the 4 others in its box.
+ */
+public final class GridUnits {
+    public static final int NUM_CELLS = 81;
+    public static final int NUM_UNITS = 27;
+    public static final int UNIT_SIZE = 9;
+    public static final int NUM_PEERS = 20;
+    // The number of peers sharing the row or column of a cell, which come first in its peers
+    public static final int NUM_LINE_PEERS = 16;
+
+    // The cells of each unit and the peers of each cell, shared read-only with the rest of the package
+    static final int[][] UNIT_CELLS = new int[NUM_UNITS][UNIT_SIZE];
+    private static final int[][] CELL_UNITS = new int[NUM_CELLS][3];
+    static final int[][] PEERS = new int[NUM_CELLS][NUM_PEERS];
+
+    static {
+        for (int cell = 0; cell < NUM_CELLS; cell++) {
+            int row = cell / 9;
+            int column = cell % 9;
+            int box = ((row / 3) * 3) + (column / 3);
+
+            CELL_UNITS[cell][0] = row;
+            CELL_UNITS[cell][1] = 9 + column;
+            CELL_UNITS[cell][2] = 18 + box;
+
+            UNIT_CELLS[row][column] = cell;
+            UNIT_CELLS[9 + column][row] = cell;
+            UNIT_CELLS[18 + box][((row % 3) * 3) + (column % 3)] = cell;
+        }
+
+        for (int cell = 0; cell < NUM_CELLS; cell++) {
+            int numPeers = 0;
+
+            // Add the other cells of the row, then the column, then the box cells not already added
+            for (int unitIndex = 0; unitIndex < 3; unitIndex++) {
+                for (int unitCell : UNIT_CELLS[CELL_UNITS[cell][unitIndex]]) {
+                    boolean sharesLine = (unitIndex == 2) && (unitCell / 9 == cell / 9 || unitCell % 9 == cell % 9);
+
+                    if (unitCell != cell && !sharesLine) {
+                        PEERS[cell][numPeers++] = unitCell;
+                    }
+                }
+            }
+        }
+    }
+
+    private GridUnits() {
+    }
+
+    /**
+     * Gets a cell of a unit
+     * @param unit the index of the unit (0-8 for rows, 9-17 for columns, 18-26 for boxes)
+     * @param index the position of the cell within the unit, from 0 to 8
+     * @return the index of the cell in row-major order
+     */
+    public static int unitCell(int unit, int index) {
+        return UNIT_CELLS[unit][index];
+    }
+
+    /**
+     * Gets one of the three units containing a cell
+     * @param cell the index of the cell in row-major order
+     * @param index 0 for the cell's row, 1 for its column, or 2 for its box
+     * @return the index of the unit
+     */
+    public static int cellUnit(int cell, int index) {
+        return CELL_UNITS[cell][index];
+    }
+
+    public static int rowUnit(int cell) {
+        return CELL_UNITS[cell][0];
+    }
+
+    public static int columnUnit(int cell) {
+        return CELL_UNITS[cell][1];
+    }
+
+    public static int boxUnit(int cell) {
+        return CELL_UNITS[cell][2];
+    }
+
+    /**
+     * Gets the box containing a cell
+     * @param cell the index of the cell in row-major order
+     * @return the index of the box in row-major order, from 0 to 8
+     */
+    public static int box(int cell) {
+        return CELL_UNITS[cell][2] - 18;
+    }
+
+    /**
+     * Gets one of the 20 peers of a cell
+     * @param cell the index of the cell in row-major order
+     * @param index the position of the peer, from 0 to 19
+     * @return the index of the peer in row-major order
+     */
+    public static int peer(int cell, int index) {
+        return PEERS[cell][index];
+    }
+}
@@ -0,0 +1,144 @@
+package Sudoku.GameLogic;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+
+/**
+ * A set of cells of the 9x9 grid, each identified by its index in row-major order (row * 9 + column). The cells are
+ * kept densely packed in an array alongside an index of each cell's position in it, so adding, removing, checking for,
+ * and picking a random cell all take constant time without boxing. Removing a cell moves the last cell into its
+ * position, so the order of the cells changes as cells are removed.
+ */
+public final class IndexedCellSet {
+    private static final int NUM_CELLS = 81;
+    // Marks a cell that is not in the set
+    private static final int ABSENT = -1;
+
+    private final int[] cells = new int[NUM_CELLS];
+    private final int[] positions = new int[NUM_CELLS];
+    private int size;
+
+    /**
+     * Constructor: Creates an empty IndexedCellSet
+     */
+    public IndexedCellSet() {
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Adds a cell to the set
+     * @param cell the index of the cell in row-major order
+     * @return true if the cell was added, false if it was already in the set
+     */
+    public boolean add(int cell) {
+        if (positions[cell] != ABSENT) {
+            return false;
+        }
+
+        cells[size] = cell;
+        positions[cell] = size;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Removes a cell from the set, moving the last cell into its position
+     * @param cell the index of the cell in row-major order
+     * @return true if the cell was removed, false if it was not in the set
+     */
+    public boolean remove(int cell) {
+        int position = positions[cell];
+
+        if (position == ABSENT) {
+            return false;
+        }
+
+        // Move the last cell into the removed cell's position
+        int lastCell = cells[--size];
+
+        cells[position] = lastCell;
+        positions[lastCell] = position;
+        positions[cell] = ABSENT;
+
+        return true;
+    }
+
+    /**
+     * Checks whether a cell is in the set
+     * @param cell the index of the cell in row-major order
+     * @return true if the cell is in the set, false otherwise
+     */
+    public boolean contains(int cell) {
+        return positions[cell] != ABSENT;
+    }
+
+    /**
+     * Gets the cell at a position in the set. Positions run from 0 to size() - 1 and change as cells are removed.
+     * @param position the position of the cell in the set
+     * @return the index of the cell in row-major order
+     */
+    public int get(int position) {
+        if (position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+
+        return cells[position];
+    }
+
+    /**
+     * Picks a cell uniformly at random from the set
+     * @param random the random number generator to pick with
+     * @return the index of the cell in row-major order
+     * @throws NoSuchElementException if the set is empty
+     */
+    public int randomCell(RandomGenerator random) {
+        if (size == 0) {
+            throw new NoSuchElementException("Cannot pick a cell from an empty set");
+        }
+
+        return cells[random.nextInt(size)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds every cell of the grid to the set, in row-major order
+     */
+    public void addAllCells() {
+        for (int cell = 0; cell < NUM_CELLS; cell++) {
+            cells[cell] = cell;
+            positions[cell] = cell;
+        }
+
+        size = NUM_CELLS;
+    }
+
+    /**
+     * Removes every cell from the set
+     */
+    public void clear() {
+        for (int position = 0; position < size; position++) {
+            positions[cells[position]] = ABSENT;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Replaces the cells of this set with the cells of another set, in the same order
+     * @param other the set to copy
+     */
+    public void copyFrom(IndexedCellSet other) {
+        System.arraycopy(other.cells, 0, cells, 0, NUM_CELLS);
+        System.arraycopy(other.positions, 0, positions, 0, NUM_CELLS);
+        size = other.size;
+    }
+}
@@ -0,0 +1,126 @@
+package Sudoku.GameLogic;
+
+import java.util.OptionalLong;
+
+/**
+ * An immutable generated puzzle, holding the clues given to the player, the unique solution, and the puzzle's
+ * difficulty grade. The clues and solution are stored as 81 values in row-major order, where a clue of 0 is an empty
+ * tile.
+ */
+public class Puzzle {
+    private final int[] clues;
+    private final int[] solution;
+    private final DifficultyGrade grade;
+    private final OptionalLong seed;
+
+    /**
+     * Constructor: Creates a Puzzle from copies of the given clues and solution, grading the clues
+     * @param clues the 81 clue values in row-major order, where 0 is an empty tile
+     * @param solution the 81 solution values in row-major order
+     */
+    public Puzzle(int[] clues, int[] solution) {
+        this(clues, solution, new DifficultyGrader().grade(clues));
+    }
+
+    /**
+     * Constructor: Creates a Puzzle from copies of the given clues and solution with an existing grade
+     * @param clues the 81 clue values in row-major order, where 0 is an empty tile
+     * @param solution the 81 solution values in row-major order
+     * @param grade the DifficultyGrade of the clues
+     */
+    public Puzzle(int[] clues, int[] solution, DifficultyGrade grade) {
+        this(clues, solution, grade, OptionalLong.empty());
+    }
+
+    /**
+     * Constructor: Creates a Puzzle from copies of the given clues and solution with an existing grade, recording the
+     * seed it was generated from
+     * @param clues the 81 clue values in row-major order, where 0 is an empty tile
+     * @param solution the 81 solution values in row-major order
+     * @param grade the DifficultyGrade of the clues
+     * @param seed the seed of the PuzzleGenerator that generated the puzzle
+     */
+    public Puzzle(int[] clues, int[] solution, DifficultyGrade grade, long seed) {
+        this(clues, solution, grade, OptionalLong.of(seed));
+    }
+
+    private Puzzle(int[] clues, int[] solution, DifficultyGrade grade, OptionalLong seed) {
+        this.clues = clues.clone();
+        this.solution = solution.clone();
+        this.grade = grade;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets a copy of the clues for this puzzle
+     * @return the 81 clue values in row-major order
+     */
+    public int[] getClues() {
+        return clues.clone();
+    }
+
+    /**
+     * Gets a copy of the solution for this puzzle
+     * @return the 81 solution values in row-major order
+     */
+    public int[] getSolution() {
+        return solution.clone();
+    }
+
+    public DifficultyGrade getGrade() {
+        return grade;
+    }
+
+    /**
+     * Gets the seed the puzzle was generated from, which can be passed to PuzzleGenerator to replay its generation
+     * @return the seed, or an empty OptionalLong if the puzzle was not generated in this run (for example, if it was
+     * loaded from a PuzzleBank)
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the difficulty level of this puzzle
+     * @return the Difficulty from the puzzle's grade
+     */
+    public Difficulty getDifficulty() {
+        return grade.difficulty();
+    }
+
+    /**
+     * Gets the clue at the given coordinates
+     * @param row the row coordinate of the tile
+     * @param column the column coordinate of the tile
+     * @return the clue value, or 0 if the tile is empty
+     */
+    public int getClue(int row, int column) {
+        return clues[(row * 9) + column];
+    }
+
+    /**
+     * Gets the solution value at the given coordinates
+     * @param row the row coordinate of the tile
+     * @param column the column coordinate of the tile
+     * @return the solution value
+     */
+    public int getSolutionValue(int row, int column) {
+        return solution[(row * 9) + column];
+    }
+
+    /**
+     * Gets the number of clues given in this puzzle
+     * @return the number of non-empty tiles
+     */
+    public int getClueCount() {
+        int clueCount = 0;
+
+        for (int clue : clues) {
+            if (clue != 0) {
+                clueCount++;
+            }
+        }
+
+        return clueCount;
+    }
+}
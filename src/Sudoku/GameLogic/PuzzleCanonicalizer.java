@@ -0,0 +1,365 @@
+package Sudoku.GameLogic;
+
+/**
+ * Maps a puzzle to a canonical representative of its class under the Sudoku symmetry group (transposition, band and
+ * row permutations, stack and column permutations, and digit relabeling), so that two puzzles are isomorphic exactly
+ * when their canonical forms are equal.
+ * <p>
+ * The canonical form is the transform of the puzzle whose solution grid, with digits relabeled in order of their
+ * first appearance, is lexicographically smallest, using the clue pattern to break ties between transforms that give
+ * the same solution grid. Since a puzzle has a unique solution, this depends only on the puzzle's class. Relabeling
+ * makes the first row 123456789 for every choice of first row and column order, and the remaining rows can then be
+ * sorted within their bands, so only 2 * 9 * 1296 candidates are compared, each row packed into a long.
+ * <p>
+ * A PuzzleCanonicalizer reuses its working arrays and is not thread-safe, so each thread should use its own.
+ */
+public class PuzzleCanonicalizer {
+    // Every column order: the order of the three stacks and the order of the columns within each stack
+    private static final int[][] COLUMN_ORDERS = new int[1296][9];
+    // The position of each source column in each column order
+    private static final int[][] COLUMN_POSITIONS = new int[1296][9];
+    private static final int[][] ORDERS_OF_THREE = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    static {
+        int columnOrder = 0;
+
+        for (int[] stackOrder : ORDERS_OF_THREE) {
+            for (int[] firstStack : ORDERS_OF_THREE) {
+                for (int[] secondStack : ORDERS_OF_THREE) {
+                    for (int[] thirdStack : ORDERS_OF_THREE) {
+                        int[][] stackColumns = {firstStack, secondStack, thirdStack};
+
+                        for (int stack = 0; stack < 3; stack++) {
+                            for (int column = 0; column < 3; column++) {
+                                int sourceColumn = (stackOrder[stack] * 3) + stackColumns[stack][column];
+
+                                COLUMN_ORDERS[columnOrder][(stack * 3) + column] = sourceColumn;
+                                COLUMN_POSITIONS[columnOrder][sourceColumn] = (stack * 3) + column;
+                            }
+                        }
+
+                        columnOrder++;
+                    }
+                }
+            }
+        }
+    }
+
+    private final int[] orientedSolution = new int[81];
+    private final int[] orientedClues = new int[81];
+    private final int[] relabel = new int[10];
+    // For each cell, the source column holding the same digit in the current first row
+    private final int[] firstRowColumns = new int[81];
+    private final int[] columnOfDigit = new int[10];
+    // The candidate being compared: packed solution rows, packed clue patterns, and source row of each row
+    private final long[] candidateRows = new long[9];
+    private final int[] candidateRowOrder = new int[9];
+    private final int[] candidateMasks = new int[9];
+    // The smallest candidate so far
+    private final long[] bestRows = new long[9];
+    private final int[] bestRowOrder = new int[9];
+    private final int[] bestMasks = new int[9];
+    private int bestTranspose;
+    private int bestColumnOrder;
+    private boolean hasBest;
+
+    /**
+     * Gets the canonical form of a puzzle
+     * @param puzzle the puzzle to canonicalize
+     * @return the 81 clues of the canonical form in row-major order, where 0 is an empty cell
+     */
+    public int[] canonicalize(Puzzle puzzle) {
+        return canonicalize(puzzle.getClues(), puzzle.getSolution());
+    }
+
+    /**
+     * Gets the canonical form of a puzzle from its clues and its unique solution
+     * @param clues the 81 clues of the puzzle in row-major order, where 0 is an empty cell
+     * @param solution the 81 values of the puzzle's solution in row-major order
+     * @return the 81 clues of the canonical form in row-major order, where 0 is an empty cell
+     */
+    public int[] canonicalize(int[] clues, int[] solution) {
+        hasBest = false;
+
+        for (int transpose = 0; transpose < 2; transpose++) {
+            orient(clues, solution, transpose);
+
+            for (int firstRow = 0; firstRow < 9; firstRow++) {
+                setFirstRowColumns(firstRow);
+
+                for (int columnOrder = 0; columnOrder < COLUMN_ORDERS.length; columnOrder++) {
+                    compareCandidate(transpose, firstRow, columnOrder);
+                }
+            }
+        }
+
+        // Apply the best transform to the clues
+        int[] canonicalClues = new int[81];
+        int[] columns = COLUMN_ORDERS[bestColumnOrder];
+
+        orient(clues, solution, bestTranspose);
+        setRelabel(bestRowOrder[0], columns);
+
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 9; column++) {
+                int sourceCell = (bestRowOrder[row] * 9) + columns[column];
+
+                if (orientedClues[sourceCell] != 0) {
+                    canonicalClues[(row * 9) + column] = relabel[orientedSolution[sourceCell]];
+                }
+            }
+        }
+
+        return canonicalClues;
+    }
+
+    /**
+     * Gets a 64-bit fingerprint of a puzzle's canonical form, which is equal for isomorphic puzzles
+     * @param puzzle the puzzle to fingerprint
+     * @return the fingerprint
+     */
+    public long fingerprint(Puzzle puzzle) {
+        return fingerprint(canonicalize(puzzle));
+    }
+
+    /**
+     * Hashes a canonical form to a 64-bit fingerprint (FNV-1a followed by a final avalanche step)
+     * @param canonicalClues the 81 clues of a canonical form in row-major order
+     * @return the fingerprint
+     */
+    public static long fingerprint(int[] canonicalClues) {
+        long hash = 0xCBF29CE484222325L;
+
+        for (int value : canonicalClues) {
+            hash = (hash ^ value) * 0x100000001B3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /**
+     * Copies the clues and solution into the working arrays, transposing them if requested
+     * @param clues the 81 clues in row-major order
+     * @param solution the 81 solution values in row-major order
+     * @param transpose 1 to transpose the grid, 0 to keep it as is
+     */
+    private void orient(int[] clues, int[] solution, int transpose) {
+        for (int cell = 0; cell < 81; cell++) {
+            int sourceCell = (transpose == 1) ? (((cell % 9) * 9) + (cell / 9)) : cell;
+
+            orientedSolution[cell] = solution[sourceCell];
+            orientedClues[cell] = clues[sourceCell];
+        }
+    }
+
+    /**
+     * Sets the digit relabeling so that the first row reads 123456789 in the given column order
+     * @param firstRow the source row placed first
+     * @param columns the column order
+     */
+    private void setRelabel(int firstRow, int[] columns) {
+        for (int column = 0; column < 9; column++) {
+            relabel[orientedSolution[(firstRow * 9) + columns[column]]] = column + 1;
+        }
+    }
+
+    /**
+     * Maps each cell to the source column where the first row holds the same digit. After relabeling, a cell's digit
+     * is one more than the position of that column, so no relabeling is needed while comparing candidates.
+     * @param firstRow the source row placed first
+     */
+    private void setFirstRowColumns(int firstRow) {
+        for (int column = 0; column < 9; column++) {
+            columnOfDigit[orientedSolution[(firstRow * 9) + column]] = column;
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            firstRowColumns[cell] = columnOfDigit[orientedSolution[cell]];
+        }
+    }
+
+    /**
+     * Packs a relabeled solution row into a long, with 4 bits per digit and the first column in the highest bits
+     * @param row the source row
+     * @param columns the column order
+     * @param positions the position of each source column in the column order
+     * @return the packed row
+     */
+    private long packRow(int row, int[] columns, int[] positions) {
+        long packedRow = 0;
+
+        for (int column = 0; column < 9; column++) {
+            packedRow = (packedRow << 4) | (positions[firstRowColumns[(row * 9) + columns[column]]] + 1);
+        }
+
+        return packedRow;
+    }
+
+    /**
+     * Builds the candidate with a given orientation, first row, and column order, and keeps it if it is smaller than
+     * the best candidate so far. The relabeling is fixed by the first row, so the other two rows of the first band are
+     * placed in increasing order, as are the rows of the other bands, and the other bands are ordered by their first
+     * rows.
+     * @param transpose 1 if the grid is transposed, 0 otherwise
+     * @param firstRow the source row placed first
+     * @param columnOrder the index of the column order in COLUMN_ORDERS
+     */
+    private void compareCandidate(int transpose, int firstRow, int columnOrder) {
+        int[] columns = COLUMN_ORDERS[columnOrder];
+        int[] positions = COLUMN_POSITIONS[columnOrder];
+        int firstBand = firstRow / 3;
+        int secondRow = (firstBand * 3) + ((firstRow % 3 == 0) ? 1 : 0);
+        int thirdRow = (firstBand * 3) + ((firstRow % 3 == 2) ? 1 : 2);
+        long secondPacked = 0;
+        long thirdPacked = 0;
+
+        // Pack the other two rows of the first band a digit at a time, stopping once both are larger than the best
+        // candidate's second row, which rejects most candidates after a digit or two
+        for (int column = 0; column < 9; column++) {
+            secondPacked = (secondPacked << 4)
+                    | (positions[firstRowColumns[(secondRow * 9) + columns[column]]] + 1);
+            thirdPacked = (thirdPacked << 4) | (positions[firstRowColumns[(thirdRow * 9) + columns[column]]] + 1);
+
+            if (hasBest) {
+                long bestPrefix = bestRows[1] >>> (4 * (8 - column));
+
+                if (secondPacked > bestPrefix && thirdPacked > bestPrefix) {
+                    return;
+                }
+            }
+        }
+
+        if (secondPacked > thirdPacked) {
+            long packed = secondPacked;
+            secondPacked = thirdPacked;
+            thirdPacked = packed;
+
+            int row = secondRow;
+            secondRow = thirdRow;
+            thirdRow = row;
+        }
+
+        if (hasBest && secondPacked > bestRows[1]) {
+            return;
+        }
+
+        candidateRows[0] = packRow(firstRow, columns, positions);
+        candidateRows[1] = secondPacked;
+        candidateRows[2] = thirdPacked;
+        candidateRowOrder[0] = firstRow;
+        candidateRowOrder[1] = secondRow;
+        candidateRowOrder[2] = thirdRow;
+
+        // Sort the rows of the other two bands, then order the bands by their first rows
+        int otherBand = (firstBand == 0) ? 1 : 0;
+        int lastBand = 3 - firstBand - otherBand;
+
+        placeBand(otherBand, columns, positions, 3);
+        placeBand(lastBand, columns, positions, 6);
+
+        if (candidateRows[6] < candidateRows[3]) {
+            for (int offset = 0; offset < 3; offset++) {
+                swapCandidateRows(3 + offset, 6 + offset);
+            }
+        }
+
+        int comparison = hasBest ? compareRows(candidateRows, bestRows) : -1;
+
+        if (comparison > 0) {
+            return;
+        }
+
+        setCandidateMasks(columns);
+
+        // Transforms that give the same solution grid are ordered by their clue patterns
+        if (comparison == 0 && compareMasks() >= 0) {
+            return;
+        }
+
+        System.arraycopy(candidateRows, 0, bestRows, 0, 9);
+        System.arraycopy(candidateRowOrder, 0, bestRowOrder, 0, 9);
+        System.arraycopy(candidateMasks, 0, bestMasks, 0, 9);
+        bestTranspose = transpose;
+        bestColumnOrder = columnOrder;
+        hasBest = true;
+    }
+
+    /**
+     * Places the three rows of a band in the candidate in increasing order
+     * @param band the source band
+     * @param columns the column order
+     * @param positions the position of each source column in the column order
+     * @param start the index of the first candidate row to fill
+     */
+    private void placeBand(int band, int[] columns, int[] positions, int start) {
+        for (int line = 0; line < 3; line++) {
+            candidateRows[start + line] = packRow((band * 3) + line, columns, positions);
+            candidateRowOrder[start + line] = (band * 3) + line;
+        }
+
+        // Sort three rows with three compare-and-swaps
+        if (candidateRows[start] > candidateRows[start + 1]) {
+            swapCandidateRows(start, start + 1);
+        }
+
+        if (candidateRows[start + 1] > candidateRows[start + 2]) {
+            swapCandidateRows(start + 1, start + 2);
+        }
+
+        if (candidateRows[start] > candidateRows[start + 1]) {
+            swapCandidateRows(start, start + 1);
+        }
+    }
+
+    private void swapCandidateRows(int first, int second) {
+        long packedRow = candidateRows[first];
+        candidateRows[first] = candidateRows[second];
+        candidateRows[second] = packedRow;
+
+        int row = candidateRowOrder[first];
+        candidateRowOrder[first] = candidateRowOrder[second];
+        candidateRowOrder[second] = row;
+    }
+
+    /**
+     * Sets the clue pattern of each candidate row as a 9-bit mask, with the first column in the highest bit
+     * @param columns the column order
+     */
+    private void setCandidateMasks(int[] columns) {
+        for (int row = 0; row < 9; row++) {
+            int mask = 0;
+
+            for (int column = 0; column < 9; column++) {
+                mask = (mask << 1) | ((orientedClues[(candidateRowOrder[row] * 9) + columns[column]] != 0) ? 1 : 0);
+            }
+
+            candidateMasks[row] = mask;
+        }
+    }
+
+    private static int compareRows(long[] rows, long[] otherRows) {
+        for (int row = 0; row < 9; row++) {
+            if (rows[row] != otherRows[row]) {
+                return Long.compare(rows[row], otherRows[row]);
+            }
+        }
+
+        return 0;
+    }
+
+    private int compareMasks() {
+        for (int row = 0; row < 9; row++) {
+            if (candidateMasks[row] != bestMasks[row]) {
+                return Integer.compare(candidateMasks[row], bestMasks[row]);
+            }
+        }
+
+        return 0;
+    }
+}
@@ -1,297 +1,415 @@
 package Sudoku.GameLogic;
 
+import Sudoku.Diagnostics.ClueRemovalEvent;
+import Sudoku.Diagnostics.FillPhaseEvent;
+import Sudoku.Diagnostics.FillRestartEvent;
+import Sudoku.Diagnostics.GenerationMetrics;
+import Sudoku.Diagnostics.UniquenessCheckEvent;
 import Sudoku.UserInterface.Coordinates;
 
 import java.util.*;
-
-public class PuzzleGenerator {
-    private Set<Coordinates> unfilledCoordinates;
-    private Set<Coordinates> filledCoordinates;
-    private int solutionCount;
-    private final SudokuTile[][] tileGrid = SudokuTile.getTileGrid();
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class PuzzleGenerator {
+    // Metrics shared by every PuzzleGenerator
+    private static final GenerationMetrics METRICS = new GenerationMetrics();
+    private final SudokuBoard board = new SudokuBoard();
+    private final SudokuTile[][] tileGrid = board.getTileGrid();
+    private final SolverType solverType;
+    private final SudokuSolver solver;
+    private final FullGridSource fullGridSource;
+    // Transforms seed grids for the TRANSFORM full-grid source, or null when searching for full grids
+    private final GridTransformer gridTransformer;
+    private final int[] transformedGrid = new int[81];
+    private final DifficultyGrader grader = new DifficultyGrader();
+    // Every random choice comes from this generator, so a generator's output is determined by its seed
+    private final long seed;
+    private final SplittableRandom generator;
     private final int[][] solutionGrid = new int[9][9];
+    // Working copies of the clues and solution for clue removal, kept in step with the board as clues are removed
+    private final int[] clueValues = new int[81];
+    private final int[] solutionValues = new int[81];
+    private final int[] removedCells = new int[81];
+    // Trials for checking several clue removals in parallel, created the first time they are needed
+    private RemovalTrial[] removalTrials;
+    // Undo log of candidate changes for backtracking in fillGrid()
+    private final CandidateTrail candidateTrail = new CandidateTrail();
+    // Working copy of the filled or unfilled cells, reused so that drawing and scanning cells does not allocate
+    private final IndexedCellSet scratchCells = new IndexedCellSet();
 
     /**
      * Constructor: Creates a PuzzleGenerator object and calls puzzle generation methods
      * @param minimumClues the minimum number of clues to leave in the board
      */
     public PuzzleGenerator(int minimumClues) {
-        initializeFullGrid();
-
-        removeClues(minimumClues, 4, 1, 50, 0);
+        this(minimumClues, SolverType.BITBOARD);
     }
 
-    public SudokuTile[][] getTileGrid() {
-        return this.tileGrid;
+    /**
+     * Constructor: Creates a PuzzleGenerator object that uses a specific solving engine for uniqueness checks
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param solverType the solving engine to use
+     */
+    public PuzzleGenerator(int minimumClues, SolverType solverType) {
+        this(minimumClues, solverType, StagedClueRemovalStrategy.DEFAULT);
     }
 
-    public void setTileValue(Coordinates coordinates, int value) {
-        SudokuTile tile = SudokuTile.getTileByCoordinates(coordinates);
-
-        if (tile != null) {
-            if (tile.getEditable()) {
-                tile.setValue(value);
-            }
-        }
+    /**
+     * Constructor: Creates a PuzzleGenerator object with a specific solving engine and clue removal strategy
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param solverType the solving engine to use
+     * @param removalStrategy the strategy choosing how many clues to remove in each iteration
+     */
+    public PuzzleGenerator(int minimumClues, SolverType solverType, ClueRemovalStrategy removalStrategy) {
+        this(minimumClues, solverType, removalStrategy, 1);
     }
 
     /**
-     * Updates the validity of tiles relevant to the current tile (and itself)
-     * @param coordinates the coordinates of the current tile
+     * Constructor: Creates a PuzzleGenerator object that produces its full grid from a specific source
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param fullGridSource the source of the full grid that clues are removed from
      */
-    public void updateInvalidTiles(Coordinates coordinates) {
-        // Unset relevant old invalid tiles
-        unsetInvalidTiles(coordinates);
+    public PuzzleGenerator(int minimumClues, FullGridSource fullGridSource) {
+        this(minimumClues, SolverType.BITBOARD, StagedClueRemovalStrategy.DEFAULT, 1, fullGridSource);
+    }
 
-        // Set new relevant invalid tiles
-        setInvalidTiles(coordinates);
+    /**
+     * Constructor: Creates a PuzzleGenerator object whose random choices all come from a given seed. Generating again
+     * with a puzzle's recorded seed (see Puzzle.getSeed()) and the same options replays its generation exactly.
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param seed the seed for the random number generator
+     */
+    public PuzzleGenerator(int minimumClues, long seed) {
+        this(minimumClues, SolverType.BITBOARD, StagedClueRemovalStrategy.DEFAULT, 1, FullGridSource.SEARCH, seed);
     }
 
     /**
-     * Checks if the board is completely solved
-     * @return true if the board is solved, false otherwise
+     * Constructor: Creates a PuzzleGenerator object that checks several speculative clue removals in parallel. This
+     * lowers the time to generate a single puzzle on a multi-core machine, but uses more total CPU time, so it is
+     * best suited to generating one puzzle at a time rather than to batches that already keep every core busy.
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param solverType the solving engine to use
+     * @param removalStrategy the strategy choosing how many clues to remove in each iteration
+     * @param removalTrials the number of clue removals to check in parallel, or 1 to check one at a time
      */
-    public boolean isBoardComplete() {
-        for (int row = 0; row < tileGrid.length; row++) {
-            for (int column = 0; column < tileGrid[row].length; column++) {
-                if (tileGrid[row][column].getValue() != solutionGrid[row][column]) {
-                    return false;
-                }
-            }
-        }
+    public PuzzleGenerator(int minimumClues, SolverType solverType, ClueRemovalStrategy removalStrategy,
+                           int removalTrials) {
+        this(minimumClues, solverType, removalStrategy, removalTrials, FullGridSource.SEARCH);
+    }
 
-        return true;
+    /**
+     * Constructor: Creates a PuzzleGenerator object with every generation option
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param solverType the solving engine to use
+     * @param removalStrategy the strategy choosing how many clues to remove in each iteration
+     * @param removalTrials the number of clue removals to check in parallel, or 1 to check one at a time
+     * @param fullGridSource the source of the full grid that clues are removed from
+     */
+    public PuzzleGenerator(int minimumClues, SolverType solverType, ClueRemovalStrategy removalStrategy,
+                           int removalTrials, FullGridSource fullGridSource) {
+        this(minimumClues, solverType, removalStrategy, removalTrials, fullGridSource, newSeed());
     }
 
     /**
-     * Sets invalidity for relevant tiles and the current tile if they are invalid
-     * @param coordinates the coordinates of the current tile
+     * Constructor: Creates a PuzzleGenerator object with every generation option and a specific seed
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param solverType the solving engine to use
+     * @param removalStrategy the strategy choosing how many clues to remove in each iteration
+     * @param removalTrials the number of clue removals to check in parallel, or 1 to check one at a time
+     * @param fullGridSource the source of the full grid that clues are removed from
+     * @param seed the seed for the random number generator
      */
-    private void setInvalidTiles(Coordinates coordinates) {
-        SudokuTile tile = SudokuTile.getTileByCoordinates(coordinates);
-
-        // Check the row for invalid tiles
-        for (SudokuTile rowTile : tile.getRow()) {
-            if (!rowTile.equals(tile) && rowTile.getValue().equals(tile.getValue())) {
-                rowTile.setValid(false);
-                tile.setValid(false);
-            }
-        }
+    public PuzzleGenerator(int minimumClues, SolverType solverType, ClueRemovalStrategy removalStrategy,
+                           int removalTrials, FullGridSource fullGridSource, long seed) {
+        this(solverType, fullGridSource, seed);
 
-        // Check the column for invalid tiles
-        for (SudokuTile columnTile : tile.getColumn()) {
-            if (!columnTile.equals(tile) && columnTile.getValue().equals(tile.getValue())) {
-                columnTile.setValid(false);
-                tile.setValid(false);
-            }
+        if (removalTrials < 1) {
+            throw new IllegalArgumentException("removalTrials must be at least 1");
         }
 
-        // Check the box for invalid tiles
-        for (SudokuTile boxTile : tile.getBox()) {
-            if (!boxTile.equals(tile) && boxTile.getValue().equals(tile.getValue())) {
-                boxTile.setValid(false);
-                tile.setValid(false);
-            }
-        }
+        long fillStart = System.nanoTime();
+
+        initializeFullGrid();
+
+        long removalStart = System.nanoTime();
+
+        removeClues(minimumClues, removalStrategy, removalTrials);
+
+        METRICS.recordPuzzle(removalStart - fillStart, System.nanoTime() - removalStart,
+                board.getFilledCells().size());
     }
 
     /**
-     * Unsets invalidity for relevant tiles that are no longer invalid
-     * @param coordinates the coordinates of the current tile
+     * Constructor: Creates a PuzzleGenerator with an empty board without generating a puzzle, so that each phase of
+     * generation can be run separately (for example, by the benchmarks)
+     * @param solverType the solving engine to use
      */
-    private void unsetInvalidTiles(Coordinates coordinates) {
-        SudokuTile tile = SudokuTile.getTileByCoordinates(coordinates);
-
-        // Check previously invalid tiles in the row
-        for (SudokuTile rowTile : tile.getRow()) {
-            if (!rowTile.getValid()) {
-                if (!relevantTilesHaveValue(rowTile, rowTile.getValue())) {
-                    rowTile.setValid(true);
-                }
-            }
-        }
+    PuzzleGenerator(SolverType solverType) {
+        this(solverType, FullGridSource.SEARCH);
+    }
 
-        // Check previously invalid tiles in the column
-        for (SudokuTile columnTile : tile.getColumn()) {
-            if (!columnTile.getValid()) {
-                if (!relevantTilesHaveValue(columnTile, columnTile.getValue())) {
-                    columnTile.setValid(true);
-                }
-            }
-        }
+    /**
+     * Constructor: Creates a PuzzleGenerator with an empty board and a specific full-grid source without generating
+     * a puzzle
+     * @param solverType the solving engine to use
+     * @param fullGridSource the source of the full grid that clues are removed from
+     */
+    PuzzleGenerator(SolverType solverType, FullGridSource fullGridSource) {
+        this(solverType, fullGridSource, newSeed());
+    }
 
-        // Check previously invalid tiles in the box
-        for (SudokuTile boxTile : tile.getBox()) {
-            if (!boxTile.getValid()) {
-                if (!relevantTilesHaveValue(boxTile, boxTile.getValue())) {
-                    boxTile.setValid(true);
-                }
-            }
-        }
+    /**
+     * Constructor: Creates a PuzzleGenerator with an empty board, a specific full-grid source, and a specific seed
+     * without generating a puzzle
+     * @param solverType the solving engine to use
+     * @param fullGridSource the source of the full grid that clues are removed from
+     * @param seed the seed for the random number generator
+     */
+    PuzzleGenerator(SolverType solverType, FullGridSource fullGridSource, long seed) {
+        this.seed = seed;
+        this.generator = new SplittableRandom(seed);
+        this.solverType = solverType;
+        this.solver = solverType.createSolver();
+        this.fullGridSource = fullGridSource;
+        this.gridTransformer = (fullGridSource == FullGridSource.TRANSFORM) ? new GridTransformer() : null;
+    }
 
-        // Check if the current tile was emptied (and therefore should be valid again)
-        if (tile.isEmpty() && !tile.getValid()) {
-            tile.setValid(true);
-        }
+    /**
+     * Gets a seed for a generator that was not given one
+     * @return a random seed
+     */
+    private static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
     }
 
     /**
-     * Checks if tiles relevant to the given tile have a certain value
-     * @param tile the selected SudokuTile
-     * @param value the value to search for
-     * @return true if the value exists anywhere in the relevant tiles, false otherwise
+     * Generates a batch of independent puzzles in parallel, each using its own PuzzleGenerator (and therefore its own
+     * board and random number generator)
+     * @param count the number of puzzles to generate
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param parallelism the number of worker threads to generate puzzles with
+     * @return the list of generated puzzles
      */
-    private boolean relevantTilesHaveValue(SudokuTile tile, int value) {
-        // Check row for value
-        for (SudokuTile rowTile : tile.getRow()) {
-            if (!rowTile.equals(tile) && rowTile.getValue() == value) {
-                return true;
-            }
-        }
+    public static List<Puzzle> generateBatch(int count, int minimumClues, int parallelism) {
+        return generateBatch(count, minimumClues, parallelism, newSeed());
+    }
 
-        // Check column for value
-        for (SudokuTile columnTile : tile.getColumn()) {
-            if (!columnTile.equals(tile) && columnTile.getValue() == value) {
-                return true;
-            }
-        }
+    /**
+     * Generates a batch of independent puzzles in parallel from a batch seed. The seed of each puzzle depends only on
+     * the batch seed and its index in the batch (see puzzleSeed()), so the batch is the same for the same seed
+     * regardless of the parallelism or thread scheduling, and each puzzle can also be replayed on its own from its
+     * recorded seed.
+     * @param count the number of puzzles to generate
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param parallelism the number of worker threads to generate puzzles with
+     * @param batchSeed the seed to draw each puzzle's seed from
+     * @return the list of generated puzzles, in the order of their seeds
+     */
+    public static List<Puzzle> generateBatch(int count, int minimumClues, int parallelism, long batchSeed) {
+        ForkJoinPool workerPool = new ForkJoinPool(parallelism);
 
-        // Check box for value
-        for (SudokuTile boxTile : tile.getBox()) {
-            if (!boxTile.equals(tile) && boxTile.getValue() == value) {
-                return true;
-            }
+        try {
+            return workerPool.submit(() -> IntStream.range(0, count)
+                    .parallel()
+                    .mapToObj(index -> new PuzzleGenerator(minimumClues, puzzleSeed(batchSeed, index)).toPuzzle())
+                    .toList()).join();
+        }
+        finally {
+            workerPool.shutdown();
         }
+    }
 
-        // Return false if value was not found
-        return false;
+    /**
+     * Creates an infinite, lazily generated stream of puzzles from a random batch seed
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @return the stream of puzzles
+     */
+    public static Stream<Puzzle> puzzles(int minimumClues) {
+        return puzzles(minimumClues, newSeed());
     }
 
     /**
-     * Initializes the SudokuTile objects in the tileGrid
+     * Creates an infinite, lazily generated stream of puzzles from a batch seed. The puzzle at each position of the
+     * stream is generated from puzzleSeed(batchSeed, position) by its own PuzzleGenerator, which is discarded once the
+     * puzzle is made, so memory use does not grow with the number of puzzles consumed. The stream can be made parallel,
+     * and ordered pipelines (such as filter, map, limit, and toList) give the same puzzles for the same seed.
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param batchSeed the seed to derive each puzzle's seed from
+     * @return the stream of puzzles
      */
-    private void initializeTileGrid() {
-        for (int row = 0; row < tileGrid.length; row++) {
-            for (int col = 0; col < tileGrid[row].length; col++) {
-                tileGrid[row][col] = new SudokuTile(row, col);
-            }
+    public static Stream<Puzzle> puzzles(int minimumClues, long batchSeed) {
+        return StreamSupport.stream(new PuzzleSpliterator(minimumClues, batchSeed), false);
+    }
+
+    /**
+     * Creates a sized, lazily generated stream of the first puzzles of a batch seed, which are the same puzzles, in the
+     * same order, as generateBatch() returns for the same count and seed
+     * @param count the number of puzzles in the stream
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param batchSeed the seed to derive each puzzle's seed from
+     * @return the stream of puzzles
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public static Stream<Puzzle> puzzles(long count, int minimumClues, long batchSeed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The count of puzzles cannot be negative: " + count);
         }
+
+        return StreamSupport.stream(new PuzzleSpliterator(minimumClues, batchSeed, 0, count), false);
     }
 
     /**
-     * Initializes a valid, randomly-generated full Sudoku grid
+     * Gets the seed of the puzzle at an index of a batch. This is the same value as the (index + 1)th call to
+     * nextLong() on a SplittableRandom created from the batch seed, but it can be computed for any index without
+     * drawing the values before it, so batches and streams can be split at any index.
+     * @param batchSeed the seed of the batch
+     * @param index the index of the puzzle in the batch
+     * @return the seed for the puzzle's PuzzleGenerator
      */
-    private void initializeFullGrid() {
-        initializeTileGrid();
-        setInitialCandidates();
-        assignFirstNine();
+    public static long puzzleSeed(long batchSeed, long index) {
+        // SplittableRandom adds the golden gamma to its state for each value and mixes the state into the output
+        long state = batchSeed + ((index + 1) * 0x9e3779b97f4a7c15L);
 
-        // Attempt to fill the grid, restarting from scratch if an invalid triple (rarely) occurs
-        try {
-            fillGrid();
+        state = (state ^ (state >>> 30)) * 0xbf58476d1ce4e5b9L;
+        state = (state ^ (state >>> 27)) * 0x94d049bb133111ebL;
 
-            // Store the solution to the puzzle in solutionGrid
-            for (int row = 0; row < tileGrid.length; row++) {
-                for (int column = 0; column < tileGrid[row].length; column++) {
-                    solutionGrid[row][column] = tileGrid[row][column].getValue();
-                }
-            }
-        }
-        catch (EmptyStackException error) {
-            initializeFullGrid();
-        }
+        return state ^ (state >>> 31);
     }
 
     /**
-     * Sets the candidates for each tile in the grid to all possible values, removing any values present, and adds all
-     * tiles to unfilledCoordinates
+     * Gets the metrics recorded by every PuzzleGenerator
+     * @return the shared GenerationMetrics
      */
-    private void setInitialCandidates() {
-        // Add all tiles to the set of unfilled coordinates
-        initCoordinatesSets();
+    public static GenerationMetrics getMetrics() {
+        return METRICS;
+    }
 
-        for (SudokuTile[] row : tileGrid) {
-            for (SudokuTile tile : row) {
-                if (!tile.isEmpty()) {
-                    tile.setValue(0);
-                }
+    /**
+     * Creates a graded Puzzle from the generated board's clues and its solution
+     * @return the generated Puzzle
+     */
+    public Puzzle toPuzzle() {
+        int[] clues = board.tileGridToArray();
+        int[] solution = new int[81];
 
-                tile.setCandidates("123456789");
-            }
+        for (int row = 0; row < solutionGrid.length; row++) {
+            System.arraycopy(solutionGrid[row], 0, solution, (row * 9), solutionGrid[row].length);
         }
+
+        return new Puzzle(clues, solution, grader.grade(clues), seed);
     }
 
-    /**
-     * Adds the coordinates of all tiles to the set of unfilled coordinates and initializes filledCoordinates
-     */
-    private void initCoordinatesSets() {
-        unfilledCoordinates = new HashSet<>();
-        filledCoordinates = new HashSet<>();
+    public long getSeed() {
+        return this.seed;
+    }
 
-        for (SudokuTile[] row : tileGrid) {
-            for (SudokuTile tile : row) {
-                unfilledCoordinates.add(tile.getCoordinates());
+    public SudokuBoard getBoard() {
+        return this.board;
+    }
+
+    public SudokuTile[][] getTileGrid() {
+        return this.tileGrid;
+    }
+
+    public int[][] getSolutionGrid() {
+        return this.solutionGrid;
+    }
+
+    public void setTileValue(Coordinates coordinates, int value) {
+        SudokuTile tile = board.getTileByCoordinates(coordinates);
+
+        if (tile != null) {
+            if (tile.getEditable()) {
+                tile.setValue(value);
             }
         }
     }
 
     /**
-     * Gets a random Coordinates object from the set of unfilled coordinates
-     * @return the Coordinates of a random unfilled tile
+     * Initializes a valid, randomly-generated full Sudoku grid
      */
-    private Coordinates getRandomCoordinates(Set<Coordinates> coordinatesSet) {
-        Random generator = new Random();
-        int randomCoordinateIndex;
-        int currentIndex;
-        Iterator<Coordinates> coordinatesIterator;
-        Coordinates randomCoordinates = null;
-
-        // Generate a random index from the set of coordinates
-        randomCoordinateIndex = generator.nextInt(coordinatesSet.size());
-
-        coordinatesIterator = coordinatesSet.iterator();
-        currentIndex = 0;
-
-        // Iterate over the set of coordinates
-        while (coordinatesIterator.hasNext()) {
-            randomCoordinates = coordinatesIterator.next();
-
-            // Return the coordinates if the index matches the randomCoordinateIndex
-            if (currentIndex == randomCoordinateIndex) {
-                return randomCoordinates;
+    void initializeFullGrid() {
+        FillPhaseEvent event = new FillPhaseEvent();
+        boolean filled = false;
+
+        event.begin();
+        event.source = fullGridSource.name();
+
+        // Transform a seed grid instead of searching, which needs no backtracking or restarts
+        if (fullGridSource == FullGridSource.TRANSFORM) {
+            gridTransformer.nextGrid(generator, transformedGrid);
+            loadFullGrid(transformedGrid);
+            event.commit();
+
+            return;
+        }
+
+        // Attempt to fill the grid, restarting from scratch if an invalid triple (rarely) occurs
+        while (!filled) {
+            setInitialCandidates();
+            assignFirstNine();
+
+            try {
+                fillGrid();
+                filled = true;
             }
+            catch (EmptyStackException error) {
+                METRICS.recordInvalidTripleRestart();
+                event.invalidTripleRestarts++;
+            }
+        }
 
-            currentIndex++;
+        // Store the solution to the puzzle in solutionGrid
+        for (int row = 0; row < tileGrid.length; row++) {
+            for (int column = 0; column < tileGrid[row].length; column++) {
+                solutionGrid[row][column] = tileGrid[row][column].getValue();
+            }
         }
 
-        return randomCoordinates;
+        event.commit();
     }
 
     /**
-     * Adds the given coordinates to the list of unfilled coordinates and removes it from the list of filled coordinates
-     * @param coordinates the coordinates of the unfilled tile
+     * Fills the board with an existing full grid instead of generating one
+     * @param solution the 81 values of a valid full grid in row-major order
      */
-    private void addUnfilledCoordinates(Coordinates coordinates) {
-        unfilledCoordinates.add(coordinates);
-        filledCoordinates.remove(coordinates);
-    }
+    void loadFullGrid(int[] solution) {
+        setInitialCandidates();
 
-    /**
-     * Removes the given coordinates from the list of unfilled coordinates and adds it to the list of filled coordinates
-     * @param coordinates the coordinates of the filled tile
-     */
-    private void removeUnfilledCoordinates(Coordinates coordinates) {
-        unfilledCoordinates.remove(coordinates);
-        filledCoordinates.add(coordinates);
+        for (int row = 0; row < tileGrid.length; row++) {
+            for (int column = 0; column < tileGrid[row].length; column++) {
+                SudokuTile tile = tileGrid[row][column];
+
+                fillTileAndUpdate(tile, solution[(row * 9) + column]);
+                board.removeUnfilledCell(tile.getCellIndex());
+                tile.setEditable(true);
+
+                solutionGrid[row][column] = solution[(row * 9) + column];
+            }
+        }
     }
 
     /**
-     * Returns a boolean corresponding to whether or not the specified coordinates are filled
-     * @param coordinates the coordinates to check
-     * @return true if the coordinates are filled, false otherwise
+     * Sets the candidates for each tile in the grid to all possible values, removing any values present, and adds all
+     * tiles to the set of unfilled cells
      */
-    private boolean coordinatesAreFilled(Coordinates coordinates) {
-        return filledCoordinates.contains(coordinates);
+    private void setInitialCandidates() {
+        // Add all tiles to the set of unfilled cells
+        board.initCellSets();
+
+        for (SudokuTile[] row : tileGrid) {
+            for (SudokuTile tile : row) {
+                if (!tile.isEmpty()) {
+                    tile.setValue(0);
+                }
+
+                tile.setCandidates(SudokuTile.ALL_CANDIDATES);
+            }
+        }
     }
 
     /**
@@ -301,9 +419,7 @@ public class PuzzleGenerator {
         int value = 1;
 
         while (value <= 9) {
-            Coordinates randomUnfilledCoordinates = getRandomCoordinates(unfilledCoordinates);
-            SudokuTile randomTile = SudokuTile.getTileByCoordinates(randomUnfilledCoordinates.row(),
-                    randomUnfilledCoordinates.column());
+            SudokuTile randomTile = board.getTileByCell(board.getUnfilledCells().randomCell(generator));
 
             // Set the candidate to the current value (1-9)
             int candidate = value;
@@ -320,15 +436,15 @@ public class PuzzleGenerator {
             // Fill the tile and update relevant tiles' candidates
             fillTileAndUpdate(randomTile, candidate);
 
-            // Remove the randomly-selected tile from unfilledCoordinates
-            removeUnfilledCoordinates(randomTile.getCoordinates());
+            // Remove the randomly-selected tile from the unfilled cells
+            board.removeUnfilledCell(randomTile.getCellIndex());
 
             value++;
         }
     }
 
     private boolean boxesHaveInvalidTriple() {
-        for (List<SudokuTile> box : SudokuTile.getBoxes()) {
+        for (List<SudokuTile> box : board.getBoxes()) {
             ArrayList<SudokuTile> twoOrFewerCandidates  = new ArrayList<>();
 
             // Add all tiles with 2 candidates or fewer to the ArrayList
@@ -343,22 +459,15 @@ public class PuzzleGenerator {
 
             // If any particular combination contains tiles with two or fewer candidates, it is an invalid triple
             for (Set<SudokuTile> combination: combinations) {
-                // Create a set to store the unique candidates in the tiles
-                Set<Integer> candidateSet = new HashSet<>();
+                // Combine the candidate bitmasks of the tiles to get the unique candidates
+                int candidateUnion = 0;
 
                 for (SudokuTile tile : combination) {
-                    StringBuilder candidates = tile.getCandidates();
-
-                    // Add each candidate to the set
-                    for (int index = 0; index < candidates.length(); index++) {
-                        int candidate = Integer.parseInt(candidates.substring(index, (index + 1)));
-
-                        candidateSet.add(candidate);
-                    }
+                    candidateUnion |= tile.getCandidates();
                 }
 
-                // If candidateSet has two or fewer candidates, return true
-                if (candidateSet.size() <= 2) {
+                // If the union has two or fewer candidates, return true
+                if (Integer.bitCount(candidateUnion) <= 2) {
                     return true;
                 }
             }
@@ -435,71 +544,78 @@ public class PuzzleGenerator {
     private void fillGrid() throws EmptyStackException {
         SudokuTile nextTile = null;
         Stack<SudokuTile> filledTileStack = new Stack<>();
-        HashMap<SudokuTile, String[][]> candidateStates = new HashMap<>();
         int count = 0;
         int maxIterations = 100;
+        FillRestartEvent restartEvent = new FillRestartEvent();
+
+        restartEvent.begin();
+        candidateTrail.clear();
 
         // Repeat until all tiles are filled
-        while (!unfilledCoordinates.isEmpty()) {
+        while (!board.getUnfilledCells().isEmpty()) {
             count++;
 
             // If filling the grid takes too many iterations, reset the board to start over
             if (count > maxIterations) {
+                METRICS.recordFillRestart();
+                restartEvent.filledTiles = filledTileStack.size();
+                restartEvent.commit();
+
                 while (!filledTileStack.isEmpty()) {
                     nextTile = filledTileStack.pop();
-                    addUnfilledCoordinates(nextTile.getCoordinates());
+                    board.addUnfilledCell(nextTile.getCellIndex());
                     nextTile.setValue(0);
                 }
 
-                setBoardCandidates(candidateStates.get(nextTile));
+                // Restore the candidates from before the first tile was filled
+                candidateTrail.popAllMarks();
 
                 break;
             }
 
             // Check for any singles using cross-hatch scanning
-            boolean crossHatchResult = crossHatchScan(filledTileStack, candidateStates);
+            boolean crossHatchResult = crossHatchScan(filledTileStack);
 
             // If the cross-hatch failed, backtrack
             if (!crossHatchResult) {
-                nextTile = backtrackToLastFilled(filledTileStack, candidateStates);
+                nextTile = backtrackToLastFilled(filledTileStack);
 
                 continue;
             }
 
             // If the cross-hatch finished the board, exit the loop
-            if (unfilledCoordinates.isEmpty()) {
+            if (board.getUnfilledCells().isEmpty()) {
                 continue;
             }
 
             // Check if the next tile has already been picked
             if (nextTile == null) {
                 // Get a random unfilled tile
-                Coordinates nextCoordinates = getRandomCoordinates(unfilledCoordinates);
-                nextTile = SudokuTile.getTileByCoordinates(nextCoordinates.row(), nextCoordinates.column());
+                nextTile = board.getTileByCell(board.getUnfilledCells().randomCell(generator));
             }
 
             // Check if a backtracked tile has no more candidates
             if (nextTile.getNumCandidates() == 0) {
                 // Backtrack further
-                nextTile = backtrackToLastFilled(filledTileStack, candidateStates);
+                nextTile = backtrackToLastFilled(filledTileStack);
 
                 continue;
             }
 
             // Pick a random valid candidate
-            int candidate = nextTile.getRandomCandidate();
+            int candidate = nextTile.getRandomCandidate(generator);
 
             // Check if the candidate will create an invalid pair of tiles with the same single candidate
             if (createsInvalidPair(nextTile, candidate)) {
                 // Check if the invalid candidate is the only remaining candidate
                 if (nextTile.onlyCandidateEquals(candidate)) {
-                    nextTile = backtrackToLastFilled(filledTileStack, candidateStates);
+                    nextTile = backtrackToLastFilled(filledTileStack);
 
                     continue;
                 }
 
                 // Remove the invalid candidate and try to fill the tile again
-                nextTile.removeCandidate(candidate);
+                candidateTrail.removeCandidate(nextTile, candidate);
 
                 continue;
             }
@@ -510,13 +626,13 @@ public class PuzzleGenerator {
             if (firstInvalidatedTile != null) {
                 // Check if the invalid candidate is the only remaining candidate
                 if (nextTile.onlyCandidateEquals(candidate)) {
-                    nextTile = backtrackToLastFilled(filledTileStack, candidateStates);
+                    nextTile = backtrackToLastFilled(filledTileStack);
 
                     continue;
                 }
 
                 // Remove the invalid candidate
-                nextTile.removeCandidate(candidate);
+                candidateTrail.removeCandidate(nextTile, candidate);
 
                 // Set the invalidated tile as the next tile to fill and iterate again
                 nextTile = firstInvalidatedTile;
@@ -524,13 +640,13 @@ public class PuzzleGenerator {
             }
 
             // Fill the tile and update method variables
-            updateFillStack(nextTile, candidate, filledTileStack, candidateStates);
+            updateFillStack(nextTile, candidate, filledTileStack);
 
             nextTile = null;
         }
 
         // If the board was not filled in the maximum number of iterations, try again
-        if (!unfilledCoordinates.isEmpty()) {
+        if (!board.getUnfilledCells().isEmpty()) {
             fillGrid();
         }
     }
@@ -539,27 +655,24 @@ public class PuzzleGenerator {
      * Backtracks to the last tile that was filled, restoring the old candidate state and removing that tile's last
      * tried value from its candidates
      * @param filledTileStack the Stack of filled tiles
-     * @param candidateStates a HashMap mapping SudokuTiles to the states of the board's candidates before they were
-     *                        filled
      * @return the tile that was backtracked to
      * @throws EmptyStackException when an invalid triple occurs in assignFirstNine()
      */
-    private SudokuTile backtrackToLastFilled(Stack<SudokuTile> filledTileStack,
-                                             HashMap<SudokuTile, String[][]> candidateStates)
-            throws EmptyStackException {
+    private SudokuTile backtrackToLastFilled(Stack<SudokuTile> filledTileStack) throws EmptyStackException {
         SudokuTile nextTile;
 
         // Set nextTile to the last filled tile
         nextTile = filledTileStack.pop();
+        METRICS.recordBacktrack();
 
-        // Restore the state of candidates before filling that tile
-        setBoardCandidates(candidateStates.get(nextTile));
+        // Restore the candidates that changed after filling that tile
+        candidateTrail.popMark();
 
         // Remove the candidate that was tried and failed
-        nextTile.removeCandidate(nextTile.getValue());
+        candidateTrail.removeCandidate(nextTile, nextTile.getValue());
 
-        // Add nextTile back to the list of unfilledCoordinates
-        addUnfilledCoordinates(nextTile.getCoordinates());
+        // Add nextTile back to the unfilled cells
+        board.addUnfilledCell(nextTile.getCellIndex());
         nextTile.setValue(0);
 
         return nextTile;
@@ -572,24 +685,14 @@ public class PuzzleGenerator {
      * @return the first invalidated tile, or null if none are invalidated
      */
     private SudokuTile getFirstInvalidatedTile(SudokuTile tileToFill, int candidate) {
-        // Check tiles in the same row
-        for (SudokuTile relevantTile : tileToFill.getRow()) {
-            if (relevantTile.onlyCandidateEquals(candidate) && !relevantTile.equals(tileToFill)) {
-                return relevantTile;
-            }
-        }
+        int cell = tileToFill.getCellIndex();
 
-        // Check tiles in the same column
-        for (SudokuTile relevantTile : tileToFill.getColumn()) {
-            if (relevantTile.onlyCandidateEquals(candidate) && !relevantTile.equals(tileToFill)) {
-                return relevantTile;
-            }
-        }
+        // Check tiles in the same row, column, and box
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            SudokuTile peerTile = board.getTileByCell(GridUnits.peer(cell, index));
 
-        // Check tiles in the same box
-        for (SudokuTile relevantTile : tileToFill.getBox()) {
-            if (relevantTile.onlyCandidateEquals(candidate) && !relevantTile.equals(tileToFill)) {
-                return relevantTile;
+            if (peerTile.onlyCandidateEquals(candidate)) {
+                return peerTile;
             }
         }
 
@@ -603,23 +706,15 @@ public class PuzzleGenerator {
      * @param candidate the value to place in the tile
      */
     private void fillTileAndUpdate(SudokuTile tile, int candidate) {
-        // Fill the tile and update its candidates
-        tile.setValue(candidate);
-        tile.setCandidates(Integer.toString(candidate));
-
-        // Update candidates for tiles in the same row
-        for (SudokuTile rowTile : tile.getRow()) {
-            rowTile.removeCandidate(candidate);
-        }
+        int cell = tile.getCellIndex();
 
-        // Update candidates for tiles in the same column
-        for (SudokuTile columnTile : tile.getColumn()) {
-            columnTile.removeCandidate(candidate);
-        }
+        // Fill the tile, which leaves it with no candidates
+        tile.setValue(candidate);
+        tile.setCandidates(0);
 
-        // Update candidates for tiles in the same box
-        for (SudokuTile boxTile : tile.getBox()) {
-            boxTile.removeCandidate(candidate);
+        // Update candidates for tiles in the same row, column, and box
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            board.getTileByCell(GridUnits.peer(cell, index)).removeCandidate(candidate);
         }
     }
 
@@ -628,6 +723,8 @@ public class PuzzleGenerator {
      * @param tile the SudokuTile to empty
      */
     private void emptyTileAndUpdate(SudokuTile tile) {
+        int cell = tile.getCellIndex();
+
         // Save the current value of the tile
         int previousValue = tile.getValue();
 
@@ -635,83 +732,78 @@ public class PuzzleGenerator {
         tile.setValue(0);
 
         // Update candidates for the empty tile
-        restoreCandidates(tile);
+        for (int candidate = 1; candidate <= 9; candidate++) {
+            restoreCandidate(tile, candidate);
+        }
 
         // Update candidates for tiles in the same row, column, and box
-        restoreCandidates(tile.getRow(), previousValue);
-        restoreCandidates(tile.getColumn(), previousValue);
-        restoreCandidates(tile.getBox(), previousValue);
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            restoreCandidate(board.getTileByCell(GridUnits.peer(cell, index)), previousValue);
+        }
     }
 
     /**
-     * Restores a missing candidate to each tile in a group if that candidate is valid
-     * @param group the group of SudokuTiles to restore candidates for
+     * Restores a missing candidate to a tile if that candidate is valid
+     * @param tile the tile to restore the candidate for
      * @param candidate the candidate to restore
      */
-    private void restoreCandidates(List<SudokuTile> group, int candidate) {
-        for (SudokuTile tile : group) {
-            // Check if the value is in a relevant row, column, or box
-            if (!(SudokuTile.collectionHasValue(tile.getRow(), candidate)) &&
-                    !(SudokuTile.collectionHasValue(tile.getColumn(), candidate)) &&
-                    !(SudokuTile.collectionHasValue(tile.getBox(), candidate))) {
-                // Add back the candidate
-                tile.addCandidate(candidate);
-            }
+    private void restoreCandidate(SudokuTile tile, int candidate) {
+        // Check if the value is in the tile or a relevant row, column, or box
+        if (tile.getValue() == candidate) {
+            return;
         }
-    }
 
-    /**
-     * Restores any missing candidates to a tile
-     * @param tile the tile to restore candidates for
-     */
-    private void restoreCandidates(SudokuTile tile) {
-        // Try to restore each candidate
-        for (int candidate = 1; candidate <= 9; candidate++) {
-            // Check if the value is in the same row, column, or box
-            if (!(SudokuTile.collectionHasValue(tile.getRow(), candidate)) &&
-                    !(SudokuTile.collectionHasValue(tile.getColumn(), candidate)) &&
-                    !(SudokuTile.collectionHasValue(tile.getBox(), candidate))) {
-                // Add back the candidate
-                tile.addCandidate(candidate);
+        int cell = tile.getCellIndex();
+
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            if (board.getTileByCell(GridUnits.peer(cell, index)).getValue() == candidate) {
+                return;
             }
         }
+
+        // Add back the candidate
+        tile.addCandidate(candidate);
     }
 
     /**
-     * Fills a tile and updates relevant candidates, while also updating the Stack of filled tiles and the HashMap of
-     * candidate states
+     * Fills a tile and updates relevant candidates, while also updating the Stack of filled tiles and marking the
+     * candidate trail so that the changes can be undone
      * @param tile the tile being filled
      * @param candidate the candidate to fill the tile with
      * @param filledTileStack the Stack of last-filled tiles
-     * @param candidateStates the HashMap of previous candidate states
      */
-    private void updateFillStack(SudokuTile tile, int candidate, Stack<SudokuTile> filledTileStack,
-                                 HashMap<SudokuTile, String[][]> candidateStates) {
-        // Add the pre-fill candidate state to candidateStates
-        candidateStates.put(tile, getBoardCandidates());
+    private void updateFillStack(SudokuTile tile, int candidate, Stack<SudokuTile> filledTileStack) {
+        // Mark the trail so that backtracking restores the candidates from before the fill
+        candidateTrail.pushMark();
 
-        // Fill the tile and update relevant tiles
-        fillTileAndUpdate(tile, candidate);
+        // Fill the tile, which leaves it with no candidates, and update relevant tiles, recording each candidate change
+        int cell = tile.getCellIndex();
+
+        tile.setValue(candidate);
+        candidateTrail.setCandidates(tile, 0);
+
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            candidateTrail.removeCandidate(board.getTileByCell(GridUnits.peer(cell, index)), candidate);
+        }
 
         // Add the tile to the Stack of filled tiles
         filledTileStack.push(tile);
 
-        // Remove the tile from the list of unfilled coordinates
-        removeUnfilledCoordinates(tile.getCoordinates());
+        // Remove the tile from the unfilled cells
+        board.removeUnfilledCell(tile.getCellIndex());
     }
 
     /**
      * Checks for unfilled singles in the board using cross-hatch scanning, looking for naked singles and hidden singles
      * @param filledTileStack the Stack of last-filled tiles
-     * @param candidateStates the HashMap of previous candidate states
      * @return true if successful, or false if the board state is invalid
      */
-    private boolean crossHatchScan(Stack<SudokuTile> filledTileStack, HashMap<SudokuTile, String[][]> candidateStates) {
-        // Save the starting number of unfilledCoordinates
-        int startingNumUnfilled = unfilledCoordinates.size();
+    private boolean crossHatchScan(Stack<SudokuTile> filledTileStack) {
+        // Save the starting number of unfilled cells
+        int startingNumUnfilled = board.getUnfilledCells().size();
 
         // Check each unfilled tile for naked singles (tiles with only one remaining candidate)
-        boolean nakedSinglesResult = checkNakedSingles(filledTileStack, candidateStates);
+        boolean nakedSinglesResult = checkNakedSingles(filledTileStack);
 
         // Stop checking if board is invalid
         if (!nakedSinglesResult) {
@@ -719,7 +811,7 @@ public class PuzzleGenerator {
         }
 
         // Check each box, row, and column for hidden singles (only possible cell for a candidate)
-        boolean hiddenSinglesResult = checkHiddenSingles(filledTileStack, candidateStates);
+        boolean hiddenSinglesResult = checkHiddenSingles(filledTileStack);
 
         // Stop checking if board is invalid
         if (!hiddenSinglesResult) {
@@ -727,8 +819,8 @@ public class PuzzleGenerator {
         }
 
         // Call method recursively until no more singles can be found
-        if (unfilledCoordinates.size() != startingNumUnfilled) {
-            return crossHatchScan(filledTileStack, candidateStates);
+        if (board.getUnfilledCells().size() != startingNumUnfilled) {
+            return crossHatchScan(filledTileStack);
         }
 
         // Return true if no tiles were invalidated
@@ -739,22 +831,19 @@ public class PuzzleGenerator {
      * Checks the set of unfilled tiles for "naked singles" -- tiles with only one remaining candidate -- and fills
      * any that are found
      * @param filledTileStack the Stack of last-filled tiles
-     * @param candidateStates the HashMap of previous candidate states
      * @return true if successful, or false if the board state is invalid
      */
-    private boolean checkNakedSingles(Stack<SudokuTile> filledTileStack, HashMap<SudokuTile,
-            String[][]> candidateStates) {
-        // Create a copy of unfilledCoordinates (to avoid concurrent modification)
-        Set<Coordinates> unfilledCoordinatesCopy = new HashSet<>(unfilledCoordinates);
+    private boolean checkNakedSingles(Stack<SudokuTile> filledTileStack) {
+        // Copy the unfilled cells, since filling a tile removes it from the set and reorders the set
+        scratchCells.copyFrom(board.getUnfilledCells());
 
         // Check each unfilled tile for a naked single
-        for (Coordinates unfilledCoordinates : unfilledCoordinatesCopy) {
-            SudokuTile unfilledTile = SudokuTile.getTileByCoordinates(unfilledCoordinates.row(),
-                    unfilledCoordinates.column());
+        for (int index = 0; index < scratchCells.size(); index++) {
+            SudokuTile unfilledTile = board.getTileByCell(scratchCells.get(index));
 
             // Fill the tile if it only has one candidate
             if (unfilledTile.getNumCandidates() == 1) {
-                int candidate = Integer.parseInt(unfilledTile.getCandidates().toString());
+                int candidate = unfilledTile.getLowestCandidate();
 
                 // Check if the candidate will invalidate other tiles
                 SudokuTile firstInvalidTile = getFirstInvalidatedTile(unfilledTile, candidate);
@@ -765,7 +854,7 @@ public class PuzzleGenerator {
                 }
 
                 // Update variables for fillGrid()
-                updateFillStack(unfilledTile, candidate, filledTileStack, candidateStates);
+                updateFillStack(unfilledTile, candidate, filledTileStack);
             }
         }
 
@@ -777,78 +866,54 @@ public class PuzzleGenerator {
      * Checks the board for "hidden singles" -- tiles that are the only valid spot for a candidate within a row,
      * column, or box -- and fills any that are found
      * @param filledTileStack the Stack of last-filled tiles
-     * @param candidateStates the HashMap of previous candidate states
      * @return true if successful, false if the board state is invalid
      */
-    private boolean checkHiddenSingles(Stack<SudokuTile> filledTileStack,
-                                    HashMap<SudokuTile, String[][]> candidateStates) {
-        // Check each row for hidden singles
-        List<List<SudokuTile>> rowsList = SudokuTile.getRows();
-
-        boolean rowsResult = checkHiddenSingleGroup(rowsList, filledTileStack, candidateStates);
-
-        if (!rowsResult) {
-            return false;
-        }
-
-        // Check each column for hidden singles
-        List<List<SudokuTile>> columnsList = SudokuTile.getColumns();
-
-        boolean columnsResult = checkHiddenSingleGroup(columnsList, filledTileStack, candidateStates);
-
-        if (!columnsResult) {
-            return false;
+    private boolean checkHiddenSingles(Stack<SudokuTile> filledTileStack) {
+        // Check each row, then each column, then each box for hidden singles
+        for (int unit = 0; unit < GridUnits.NUM_UNITS; unit++) {
+            if (!checkHiddenSingleUnit(unit, filledTileStack)) {
+                return false;
+            }
         }
 
-        // Check each box for hidden singles
-        List<List<SudokuTile>> boxesList = SudokuTile.getBoxes();
-
-        boolean boxesResult = checkHiddenSingleGroup(boxesList, filledTileStack, candidateStates);
-
-        // If no tiles are invalidated, return true. Otherwise, return false
-        return boxesResult;
+        // If no tiles are invalidated, return true
+        return true;
     }
 
     /**
-     * Support method for checking for hidden singles within set of tileGroups (rows, columns, or boxes)
-     * @param tileGroups the groups of tiles (rows, columns, or boxes)
+     * Support method for checking for hidden singles within a unit (a row, column, or box)
+     * @param unit the index of the unit (see GridUnits)
      * @param filledTileStack the Stack of last-filled tiles
-     * @param candidateStates the HashMap of previous candidate states
      * @return true if successful, or false if the board state is invalid
      */
-    private boolean checkHiddenSingleGroup(List<List<SudokuTile>> tileGroups,
-                                                Stack<SudokuTile> filledTileStack,
-                                                HashMap<SudokuTile, String[][]> candidateStates) {
-        for (List<SudokuTile> group : tileGroups) {
-            for (int candidate = 1; candidate <= 9; candidate++) {
-                Set<SudokuTile> candidateTileSet = new HashSet<>();
-
-                // Add all tiles with the candidate that are unfilled, quitting if more than one is found
-                for (SudokuTile tile : group) {
-                    if (tile.hasCandidate(candidate) && unfilledCoordinates.contains(tile.getCoordinates())) {
-                        candidateTileSet.add(tile);
-                    }
-
-                    if (candidateTileSet.size() > 1) {
-                        break;
-                    }
-                }
+    private boolean checkHiddenSingleUnit(int unit, Stack<SudokuTile> filledTileStack) {
+        for (int candidate = 1; candidate <= 9; candidate++) {
+            SudokuTile candidateTile = null;
+            int numCandidateTiles = 0;
 
-                // Try to fill the tile if it is the only possible placement for the candidate
-                if (candidateTileSet.size() == 1) {
-                    SudokuTile candidateTile = candidateTileSet.iterator().next();
+            // Count the unfilled tiles with the candidate, quitting if more than one is found
+            for (int index = 0; index < GridUnits.UNIT_SIZE && numCandidateTiles < 2; index++) {
+                int cell = GridUnits.unitCell(unit, index);
+                SudokuTile tile = board.getTileByCell(cell);
 
-                    // Check if the candidate will invalidate other tiles
-                    SudokuTile firstInvalidatedTile = getFirstInvalidatedTile(candidateTile, candidate);
+                if (tile.hasCandidate(candidate) && board.getUnfilledCells().contains(cell)) {
+                    candidateTile = tile;
+                    numCandidateTiles++;
+                }
+            }
 
-                    // If a tile is invalidated, stop checking and return
-                    if (firstInvalidatedTile != null) {
-                        return false;
-                    }
+            // Try to fill the tile if it is the only possible placement for the candidate
+            if (numCandidateTiles == 1) {
+                // Check if the candidate will invalidate other tiles
+                SudokuTile firstInvalidatedTile = getFirstInvalidatedTile(candidateTile, candidate);
 
-                    // Update variables for fillGrid()
-                    updateFillStack(candidateTile, candidate, filledTileStack, candidateStates);
+                // If a tile is invalidated, stop checking and return
+                if (firstInvalidatedTile != null) {
+                    return false;
                 }
+
+                // Update variables for fillGrid()
+                updateFillStack(candidateTile, candidate, filledTileStack);
             }
         }
 
@@ -857,172 +922,119 @@ public class PuzzleGenerator {
     }
 
     /**
-     * Returns a boolean corresponding to whether or not the input ArrayList tileGrid has a unique solution
-     * @param tileGrid the 2D-ArrayList Sudoku board
-     * @return true if tileGrid has a unique solution, false otherwise
+     * Returns a boolean corresponding to whether or not the input board has a unique solution
+     * @param boardValues the 81 values of the Sudoku board in row-major order
+     * @return true if the board has a unique solution, false otherwise
      */
-    private boolean hasUniqueSolution(ArrayList<ArrayList<Integer>> tileGrid) {
-        solutionCount = 0;
-
-        updateSolutionCount(tileGrid, 2);
+    boolean hasUniqueSolution(int[] boardValues) {
+        updateSolutionCount(boardValues, 2);
 
-        return solutionCount != 2;
+        return board.getSolutionCount() != 2;
     }
 
     /**
-     * Gets the number of unique solutions for the current board
-     * @return an integer number of unique solutions for the current board
+     * Removes clues from the working clues and checks that the board still has a unique solution. Since the board was
+     * uniquely solvable before the removal, only a solution that differs from the known solution in one of the removed
+     * cells has to be searched for. If such a solution exists, the clues are restored.
+     * @param numRemoved the number of cells at the start of removedCells to remove
+     * @return true if the board still has a unique solution and the clues were removed, false otherwise
      */
-    private int getSolutionCount() {
-        ArrayList<ArrayList<Integer>> tileGrid = SudokuTile.tileGridToArrayList();
-        solutionCount = 0;
+    private boolean removalKeepsUniqueSolution(int numRemoved) {
+        for (int index = 0; index < numRemoved; index++) {
+            clueValues[removedCells[index]] = 0;
+        }
 
-        updateSolutionCount(tileGrid, null);
+        boolean unique = !hasAlternativeSolution(solver, clueValues, removedCells, numRemoved);
 
-        return solutionCount;
+        // Restore the clues if the removal allows another solution
+        if (!unique) {
+            for (int index = 0; index < numRemoved; index++) {
+                clueValues[removedCells[index]] = solutionValues[removedCells[index]];
+            }
+        }
+
+        return unique;
     }
 
     /**
-     * Increments solutionCount for each unique solution the current board has up to a specified maximum number
-     * https://www.101computing.net/backtracking-algorithm-sudoku-solver/
-     * @param tileGrid the 2D-ArrayList of values on the tileGrid
-     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * Checks whether a board with some clues removed has a solution other than the known solution, recording the
+     * duration of the check. This only reads the generator's state, so trials can call it from several threads.
+     * @param checkSolver the solving engine to check with
+     * @param clues the 81 clues after the removal in row-major order
+     * @param cells the indices of the removed cells
+     * @param numRemoved the number of removed cells at the start of cells
+     * @return true if the board has another solution, false if the known solution is still unique
      */
-    private void updateSolutionCount(ArrayList<ArrayList<Integer>> tileGrid, Integer maxSolutions) {
-        // If the maximum number of solutions has been reached, stop searching for new solutions
-        // If maxSolutions is null, ignore
-        if (maxSolutions != null) {
-            if (solutionCount == maxSolutions) {
-                return;
-            }
-        }
+    private boolean hasAlternativeSolution(SudokuSolver checkSolver, int[] clues, int[] cells, int numRemoved) {
+        UniquenessCheckEvent event = new UniquenessCheckEvent();
+        long startTime = System.nanoTime();
 
-        // Find the next empty tile (loop breaks, so not O(n^2) runtime)
-        for (int tileIndex = 0; tileIndex < 81; tileIndex++) {
-            int rowIndex = tileIndex / 9;
-            int columnIndex = tileIndex % 9;
-
-            if (tileGrid.get(rowIndex).get(columnIndex) == 0) {
-                // Try to fill the tile with every possible value
-                for (int value = 1; value <= 9; value++) {
-                    // Check that the value is not present in the row
-                    if (!tileGrid.get(rowIndex).contains(value)) {
-                        // Check that the value is not present in the column
-                        boolean columnHasValue = false;
-
-                        for (ArrayList<Integer> row : tileGrid) {
-                            if (row.get(columnIndex) == value) {
-                                columnHasValue = true;
-                                break;
-                            }
-                        }
-
-                        if (!columnHasValue) {
-                            ArrayList<Integer> box;
-
-                            // Identify which box the tile is in
-                            if (rowIndex < 3) {
-                                if (columnIndex < 3) {
-                                    box = getBoxArrayList(tileGrid, 0, 0);
-                                }
-                                else if (columnIndex < 6) {
-                                    box = getBoxArrayList(tileGrid, 0, 3);
-                                }
-                                else {
-                                    box = getBoxArrayList(tileGrid, 0, 6);
-                                }
-                            }
-                            else if (rowIndex < 6) {
-                                if (columnIndex < 3) {
-                                    box = getBoxArrayList(tileGrid, 3, 0);
-                                }
-                                else if (columnIndex < 6) {
-                                    box = getBoxArrayList(tileGrid, 3, 3);
-                                }
-                                else {
-                                    box = getBoxArrayList(tileGrid, 3, 6);
-                                }
-                            }
-                            else {
-                                if (columnIndex < 3) {
-                                    box = getBoxArrayList(tileGrid, 6, 0);
-                                }
-                                else if (columnIndex < 6) {
-                                    box = getBoxArrayList(tileGrid, 6, 3);
-                                }
-                                else {
-                                    box = getBoxArrayList(tileGrid, 6, 6);
-                                }
-                            }
-
-                            // Check that the value is not present in the box
-                            if (!box.contains(value)) {
-                                // Set the tile's value
-                                tileGrid.get(rowIndex).set(columnIndex, value);
-
-
-
-                                // If the grid is full, increment the solution count and remove the previous value.
-                                // Otherwise, continue to next empty cell
-                                if (tileGridFull(tileGrid)) {
-                                    solutionCount++;
-                                    tileGrid.get(rowIndex).set(columnIndex, 0);
-
-                                    return;
-                                }
-                                else {
-                                    updateSolutionCount(tileGrid, maxSolutions);
-                                }
-                            }
-                        }
-                    }
-                }
+        event.begin();
+        boolean alternative = checkSolver.hasAlternativeSolution(clues, solutionValues, cells, numRemoved);
+        event.end();
 
-                // If no value works for the tile or all values have been checked, reset the tile's value and backtrack
-                // (Backtracking happens through the recursion stack)
-                tileGrid.get(rowIndex).set(columnIndex, 0);
+        METRICS.recordUniquenessCheck(System.nanoTime() - startTime);
 
-                break;
+        if (event.shouldCommit()) {
+            int emptyCells = 0;
+
+            for (int value : clues) {
+                if (value == 0) {
+                    emptyCells++;
+                }
             }
+
+            event.solver = checkSolver.getClass().getSimpleName();
+            event.emptyCells = emptyCells;
+            event.maxSolutions = 2;
+            event.solutionsFound = alternative ? 2 : 1;
+            event.commit();
         }
+
+        return alternative;
     }
 
     /**
-     * Gets an ArrayList of all values in the box of the 2D-ArrayList tileGrid that starts at the given indices
-     * @param tileGrid the 2D-ArrayList of tile values
-     * @param startingRowIndex the starting row index of the box
-     * @param startingColumnIndex the starting column index of the box
-     * @return an ArrayList of the box values
+     * Gets the number of unique solutions for the current board
+     * @return an integer number of unique solutions for the current board
      */
-    private ArrayList<Integer> getBoxArrayList(ArrayList<ArrayList<Integer>> tileGrid, int startingRowIndex,
-                                               int startingColumnIndex) {
-        ArrayList<Integer> box = new ArrayList<>();
-
-        // Add all values within the box
-        for (int i = startingRowIndex; i < (startingRowIndex + 3); i++) {
-            for (int j = startingColumnIndex; j < (startingColumnIndex + 3); j++) {
-                box.add(tileGrid.get(i).get(j));
-            }
-        }
+    private int getSolutionCount() {
+        updateSolutionCount(board.tileGridToArray(), 0);
 
-        return box;
+        return board.getSolutionCount();
     }
 
     /**
-     * Checks if the 2D-ArrayList tileGrid is full, returning true if all values are set to non-zero
-     * @param tileGrid the 2D-ArrayList of grid values
-     * @return true if the grid is filled, false otherwise
+     * Sets the board's solutionCount to the number of unique solutions the input board has up to a specified maximum
+     * number
+     * @param boardValues the 81 values of the Sudoku board in row-major order
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
      */
-    private boolean tileGridFull(ArrayList<ArrayList<Integer>> tileGrid) {
-        for (ArrayList<Integer> row : tileGrid) {
-            for (Integer value : row) {
+    private void updateSolutionCount(int[] boardValues, int maxSolutions) {
+        UniquenessCheckEvent event = new UniquenessCheckEvent();
+        long startTime = System.nanoTime();
+
+        event.begin();
+        board.setSolutionCount(solver.countSolutions(boardValues, maxSolutions));
+        event.end();
+
+        METRICS.recordUniquenessCheck(System.nanoTime() - startTime);
+
+        if (event.shouldCommit()) {
+            int emptyCells = 0;
+
+            for (int value : boardValues) {
                 if (value == 0) {
-                    return false;
+                    emptyCells++;
                 }
             }
-        }
 
-        return true;
+            event.solver = solver.getClass().getSimpleName();
+            event.emptyCells = emptyCells;
+            event.maxSolutions = maxSolutions;
+            event.solutionsFound = board.getSolutionCount();
+            event.commit();
+        }
     }
 
     /**
@@ -1033,26 +1045,28 @@ public class PuzzleGenerator {
      * @return true if the placement creates an invalid pair, false otherwise
      */
     private boolean createsInvalidPair(SudokuTile tileToFill, int candidate) {
-        // Add the relevant row, column, and box to a list
-        List<List<SudokuTile>> tileGroups = new ArrayList<>();
-        tileGroups.add(tileToFill.getRow());
-        tileGroups.add(tileToFill.getColumn());
-        tileGroups.add(tileToFill.getBox());
-
-        // Check for invalid pairs of tiles in each group
-        for (List<SudokuTile> group : tileGroups) {
-            List<SudokuTile> potentialInvalidTiles = new ArrayList<>();
-
-            // Add any tiles with two candidates and the relevant candidate to the list of potentially invalid tiles
-            for (SudokuTile tile : group) {
-                if (tile.getNumCandidates() == 2 && tile.hasCandidate(candidate)) {
-                    potentialInvalidTiles.add(tile);
-                }
-            }
+        int cell = tileToFill.getCellIndex();
+        int candidateBit = SudokuTile.candidateBit(candidate);
 
-            // Check if any potentially invalid tiles are an invalid pair
-            if (containsSameCandidatePair(potentialInvalidTiles)) {
-                return true;
+        // Check for invalid pairs of tiles in the relevant row, column, and box
+        for (int unitIndex = 0; unitIndex < 3; unitIndex++) {
+            int unit = GridUnits.cellUnit(cell, unitIndex);
+            // The other candidates of the tiles in the unit with two candidates, one of which is the relevant candidate
+            int otherCandidatesSeen = 0;
+
+            for (int index = 0; index < GridUnits.UNIT_SIZE; index++) {
+                SudokuTile tile = board.getTileByCell(GridUnits.unitCell(unit, index));
+
+                if (tile != tileToFill && tile.getNumCandidates() == 2 && tile.hasCandidate(candidate)) {
+                    int otherCandidate = tile.getCandidates() & ~candidateBit;
+
+                    // Two such tiles with the same other candidate are an invalid pair
+                    if ((otherCandidatesSeen & otherCandidate) != 0) {
+                        return true;
+                    }
+
+                    otherCandidatesSeen |= otherCandidate;
+                }
             }
         }
 
@@ -1060,131 +1074,129 @@ public class PuzzleGenerator {
     }
 
     /**
-     * Returns a boolean corresponding to whether the list of tiles has a pair with equivalent candidates
-     * @param tiles the list of SudokuTiles
-     * @return true if at least two tiles have equivalent candidates, false otherwise
+     * Removes clues from a full Sudoku board until the minimum number of clues is achieved, or until the strategy's
+     * maximum number of iterations is reached
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param strategy the strategy choosing how many clues to remove in each iteration
+     * @return the last iteration that board was modified
      */
-    private boolean containsSameCandidatePair(List<SudokuTile> tiles) {
-        Set<StringBuilder> candidateSet = new HashSet<>();
-
-        // Attempt to add all the candidate lists to the set
-        for (SudokuTile tile : tiles) {
-            if (!candidateSet.add(tile.getCandidates())) {
-                return true;
-            }
-        }
-
-        return false;
+    int removeClues(int minimumClues, ClueRemovalStrategy strategy) {
+        return removeClues(minimumClues, strategy, 1);
     }
 
     /**
-     * Returns a 2D-array of the board's current state of candidates with the first dimension corresponding to the
-     * row-coordinate and the second dimension corresponding to the column-coordinate
-     * @return the 2D-array of candidates
+     * Removes clues from a full Sudoku board until the minimum number of clues is achieved, or until the strategy's
+     * maximum number of iterations is reached. With more than one trial, each step draws several candidate removals
+     * from the random number generator and checks them for uniqueness in parallel, each on its own copy of the clues.
+     * Successful single-clue trials are then applied in the order they were drawn, and every one after the first is
+     * checked again against the updated board, since two removals that are unique on their own may not be unique
+     * together. A trial that failed never needs to be checked again, because removing more clues cannot remove
+     * solutions. Single-clue trials each use up one iteration, while larger removals keep the first successful trial
+     * and use up one iteration, just like retrying them one after another.
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @param strategy the strategy choosing how many clues to remove in each iteration
+     * @param numTrials the number of removals to check in parallel, or 1 to check one removal at a time
+     * @return the last iteration that board was modified
      */
-    private String[][] getBoardCandidates() {
-        String[][] boardCandidates = new String[tileGrid.length][tileGrid[0].length];
+    int removeClues(int minimumClues, ClueRemovalStrategy strategy, int numTrials) {
+        int lastIterationModified = 0;
+        int iteration = 1;
 
-        // Add each candidate String to its place in boardCandidates
-        for (int row = 0; row < tileGrid.length; row++) {
-            for (int column = 0; column < tileGrid[row].length; column++) {
-                boardCandidates[row][column] = tileGrid[row][column].getCandidates().toString();
+        if (numTrials > 1 && (removalTrials == null || removalTrials.length < numTrials)) {
+            removalTrials = new RemovalTrial[numTrials];
+
+            for (int trial = 0; trial < numTrials; trial++) {
+                removalTrials[trial] = new RemovalTrial(solverType);
             }
         }
 
-        return boardCandidates;
-    }
-
-    /**
-     * Sets the candidates for each tile in the grid using a given 2D-array of candidates
-     * @param boardCandidates the 2D-array of candidates
-     */
-    private void setBoardCandidates(String[][] boardCandidates) {
-        // Set the candidates for each tile in the grid
+        // Start the working copies from the current board, which has a unique solution
         for (int row = 0; row < tileGrid.length; row++) {
             for (int column = 0; column < tileGrid[row].length; column++) {
-                tileGrid[row][column].setCandidates(boardCandidates[row][column]);
+                clueValues[(row * 9) + column] = tileGrid[row][column].getValue();
+                solutionValues[(row * 9) + column] = solutionGrid[row][column];
             }
         }
-    }
 
-    /**
-     * Removes clues from a full Sudoku board until the minimum number of clues is achieved, or until the maximum
-     * number of iterations is reached
-     * @param minimumClues the minimum number of clues to leave in the board
-     * @param removalCount the number of clues to remove in this iteration
-     * @param currentIteration the current iteration number in the removal process
-     * @param maxIterations the maximum number of iterations to allow
-     * @param lastIterationModified the last iteration that clues were removed on
-     * @return the last iteration that board was modified
-     */
-    private int removeClues(int minimumClues, int removalCount, int currentIteration, int maxIterations,
-                             int lastIterationModified) {
-        // Set starting clues to the current number of clues remaining
-        int startingClues = filledCoordinates.size();
+        while (board.getFilledCells().size() > minimumClues) {
+            // If the iteration budget is used up, stop without reaching minimumClues
+            if (iteration > strategy.getMaxIterations()) {
+                METRICS.recordRemovalIterationLimit();
 
-        // If maxIterations is reached, return
-        if (currentIteration == maxIterations) {
-            // Set the starting clues to not be editable
-            setFilledNotEditable();
+                break;
+            }
 
-            return lastIterationModified;
-        }
+            // Set starting clues to the current number of clues remaining
+            int startingClues = board.getFilledCells().size();
+            int removalCount = strategy.getRemovalCount(iteration, startingClues);
+            int iterationsUsed = 1;
+            ClueRemovalEvent event = new ClueRemovalEvent();
 
-        // If minimumClues is reached, return
-        if ((filledCoordinates.size()) <= minimumClues) {
-            // Set the starting clues to not be editable
-            setFilledNotEditable();
+            event.begin();
 
-            return lastIterationModified;
-        }
+            if (numTrials > 1 && removalCount == 1) {
+                // Run one trial for each remaining iteration, up to numTrials, and one for each filled tile at most
+                iterationsUsed = Math.min(Math.min(numTrials, strategy.getMaxIterations() - iteration + 1),
+                        startingClues);
 
-        // Get the current board state as an ArrayList
-        ArrayList<ArrayList<Integer>> currentBoard = SudokuTile.tileGridToArrayList();
+                int lastTrialApplied = removeSingleCluesSpeculatively(iterationsUsed, minimumClues);
 
-        // Get a copy of filledCoordinates
-        Set<Coordinates> filledCoordinatesCopy = new HashSet<>(filledCoordinates);
+                if (lastTrialApplied >= 0) {
+                    lastIterationModified = iteration + lastTrialApplied;
+                }
+            }
+            else if (numTrials > 1) {
+                // Remove pairs of diagonally opposite clues, checking several sets of pairs at once
+                scratchCells.copyFrom(board.getFilledCells());
+                removeOppositeDiagonalCluesSpeculatively(scratchCells, removalCount / 2, numTrials);
+            }
+            else if (removalCount == 1) {
+                // Remove a single clue randomly from the working clues
+                removedCells[0] = board.getFilledCells().randomCell(generator);
 
-        if (removalCount == 4) {
-            // Remove 4 diagonally opposite clues from the ArrayList board
-            removeOppositeDiagonalClues(currentBoard, filledCoordinatesCopy, true);
-        }
+                if (removalKeepsUniqueSolution(1)) {
+                    // Remove the clue and update the unfilled cells
+                    emptyCellAndUpdate(removedCells[0]);
+                }
+            }
+            else {
+                // Remove pairs of diagonally opposite clues, trying every filled tile before giving up
+                scratchCells.copyFrom(board.getFilledCells());
+                removeOppositeDiagonalClues(scratchCells, removalCount / 2);
+            }
 
-        if (removalCount == 2) {
-            // Remove 2 diagonally opposite clues from the ArrayList board
-            removeOppositeDiagonalClues(currentBoard, filledCoordinatesCopy, false);
-        }
+            int cluesRemoved = startingClues - board.getFilledCells().size();
 
-        if (removalCount == 1) {
-            // Remove a single clue randomly from the ArrayList board
-            Coordinates randomCoordinates = getRandomCoordinates(filledCoordinates);
+            // Single-clue trials each count as an iteration that removed at most one clue
+            if (iterationsUsed > 1) {
+                for (int trial = 0; trial < iterationsUsed; trial++) {
+                    METRICS.recordRemovalIteration(removalCount, (trial < cluesRemoved) ? 1 : 0);
+                }
+            }
+            else {
+                METRICS.recordRemovalIteration(removalCount, cluesRemoved);
 
-            currentBoard.get(randomCoordinates.row()).set(randomCoordinates.column(), 0);
+                // If clues were removed this iteration, set lastIterationModified to the iteration
+                if (cluesRemoved > 0) {
+                    lastIterationModified = iteration;
+                }
+            }
 
-            if (hasUniqueSolution(currentBoard)) {
-                // Remove the clue and update unfilledCoordinates
-                emptyTileAndUpdate(SudokuTile.getTileByCoordinates(randomCoordinates.row(),
-                        randomCoordinates.column()));
+            event.iteration = iteration;
+            event.removalCount = removalCount;
+            event.trials = numTrials;
+            event.cluesBefore = startingClues;
+            event.cluesRemoved = cluesRemoved;
+            event.accepted = cluesRemoved > 0;
+            event.commit();
 
-                addUnfilledCoordinates(randomCoordinates);
-            }
+            iteration += iterationsUsed;
         }
 
-        // If clues were removed this iteration, set lastIterationModified to currentIteration
-        if (startingClues > filledCoordinates.size()) {
-            lastIterationModified = currentIteration;
-        }
+        // Set the starting clues to not be editable
+        setFilledNotEditable();
 
-        // Iterate again, choosing how many clues to try to remove
-        if (unfilledCoordinates.size() < 20) {
-            return removeClues(minimumClues, 4, (currentIteration + 1), maxIterations, lastIterationModified);
-        }
-        else if ((filledCoordinates.size() > 30) && (currentIteration < (maxIterations / 5))) {
-            return removeClues(minimumClues, 2, (currentIteration + 1), maxIterations, lastIterationModified);
-        }
-        else {
-            return removeClues(minimumClues, 1, (currentIteration + 1), maxIterations, lastIterationModified);
-        }
+        return lastIterationModified;
     }
 
     /**
@@ -1201,90 +1213,180 @@ public class PuzzleGenerator {
     }
 
     /**
-     * Removes a pair of opposite diagonal clues (or two pairs if removeQuad is true), making sure the resulting board
-     * retains a unique solution
-     * @param board the 2D-ArrayList of the values in the tileGrid
-     * @param eligibleCoordinates a set of Coordinates eligible for removal
-     * @param removeQuad boolean corresponding to whether or not two pairs of clues should be removed
+     * Removes pairs of opposite diagonal clues, making sure the resulting board retains a unique solution. If the
+     * board would not be unique, different pairs are tried until no eligible coordinates remain.
+     * @param eligibleCells the set of filled cells eligible for removal, which is emptied as pairs are drawn
+     * @param numPairs the number of pairs of clues to remove together
      * @return true if the removal is successful, false otherwise
      */
-    private boolean removeOppositeDiagonalClues(ArrayList<ArrayList<Integer>> board,
-                                                              Set<Coordinates> eligibleCoordinates,
-                                                              boolean removeQuad) {
-        // If no more diagonal clues can be removed while maintaining a unique solution, return false
-        if (eligibleCoordinates.isEmpty()) {
-            return false;
-        }
-
-        // Get a pair of diagonal filled coordinates
-        Set<Coordinates> diagonalCoordinates = getDiagonalFilledCoordinates(eligibleCoordinates);
+    private boolean removeOppositeDiagonalClues(IndexedCellSet eligibleCells, int numPairs) {
+        // Try again with different cells until no more diagonal clues can be removed
+        while (!eligibleCells.isEmpty()) {
+            int numRemoved = 0;
 
-        // Add the coordinates to the list to remove
-        Set<Coordinates> coordinatesToRemove = new HashSet<>(diagonalCoordinates);
+            // Collect the pairs of diagonal filled cells, skipping the opposite tiles of pairs that are already empty
+            for (int pair = 0; pair < numPairs && !eligibleCells.isEmpty(); pair++) {
+                int cell = drawDiagonalPair(eligibleCells);
+                int oppositeCell = 80 - cell;
 
-        // Remove the coordinates from eligibleCoordinates
-        eligibleCoordinates.removeAll(coordinatesToRemove);
+                removedCells[numRemoved++] = cell;
 
-        // Get a second pair of random filled tiles if removeQuad is true
-        if (removeQuad) {
-            diagonalCoordinates = getDiagonalFilledCoordinates(eligibleCoordinates);
+                if (oppositeCell != cell && clueValues[oppositeCell] != 0) {
+                    removedCells[numRemoved++] = oppositeCell;
+                }
+            }
 
-            // Add the coordinates to the list to remove
-            coordinatesToRemove.addAll(diagonalCoordinates);
+            // If the board still has a unique solution, remove the clues from the tileGrid
+            if (removalKeepsUniqueSolution(numRemoved)) {
+                for (int index = 0; index < numRemoved; index++) {
+                    emptyCellAndUpdate(removedCells[index]);
+                }
 
-            // Remove the coordinates from eligibleCoordinates
-            eligibleCoordinates.removeAll(coordinatesToRemove);
+                return true;
+            }
         }
 
-        // Remove the clues from the board
-        for (Coordinates coordinates : coordinatesToRemove) {
-            board.get(coordinates.row()).set(coordinates.column(), 0);
+        return false;
+    }
+
+    /**
+     * Draws distinct random filled tiles, checks the removal of each one in parallel, and then removes the clues of
+     * the successful trials in the order they were drawn. Every success after the first is checked again against the
+     * board with the earlier clues removed.
+     * @param numTrials the number of single-clue removals to try
+     * @param minimumClues the minimum number of clues to leave in the board
+     * @return the index of the last trial whose clue was removed, or -1 if no clue was removed
+     */
+    private int removeSingleCluesSpeculatively(int numTrials, int minimumClues) {
+        IndexedCellSet eligibleCells = scratchCells;
+        int lastTrialApplied = -1;
+
+        eligibleCells.copyFrom(board.getFilledCells());
+
+        // Draw the removals on this thread so that the random sequence does not depend on thread scheduling
+        for (int trial = 0; trial < numTrials; trial++) {
+            int cell = eligibleCells.randomCell(generator);
+
+            eligibleCells.remove(cell);
+            removalTrials[trial].clearRemovedCells();
+            removalTrials[trial].addRemovedCell(cell);
         }
 
-        // If the board still has a unique solution, remove the clues from the tileGrid. Otherwise, try again with
-        // different coordinates
-        if (hasUniqueSolution(board)) {
-            for (Coordinates coordinates : coordinatesToRemove) {
-                emptyTileAndUpdate(SudokuTile.getTileByCoordinates(coordinates.row(), coordinates.column()));
+        runRemovalTrials(numTrials);
 
-                // Add the tile's coordinates back to unfilledCoordinates
-                addUnfilledCoordinates(coordinates);
+        for (int trial = 0; trial < numTrials && board.getFilledCells().size() > minimumClues; trial++) {
+            RemovalTrial removalTrial = removalTrials[trial];
+
+            if (!removalTrial.isUnique()) {
+                continue;
             }
 
-            return true;
-        }
-        else {
-            // Try again, refreshing the current board state
-            return removeOppositeDiagonalClues(SudokuTile.tileGridToArrayList(), eligibleCoordinates, removeQuad);
+            removedCells[0] = removalTrial.getRemovedCells()[0];
+
+            // The first success was checked against the current board, but later ones must be checked again
+            if (lastTrialApplied == -1) {
+                clueValues[removedCells[0]] = 0;
+            }
+            else if (!removalKeepsUniqueSolution(1)) {
+                continue;
+            }
+
+            emptyCellAndUpdate(removedCells[0]);
+            lastTrialApplied = trial;
         }
+
+        return lastTrialApplied;
     }
 
     /**
-     * Returns a Set of two Coordinates objects that correspond to diagonal filled coordinates from the Set of
-     * eligible coordinates
-     * @param eligibleCoordinates the set of coordinates to draw the pair from
-     * @return a Set of two diagonal filled Coordinates
+     * Removes pairs of opposite diagonal clues like removeOppositeDiagonalClues, but checks several sets of pairs in
+     * parallel and removes the first set (in the order they were drawn) that keeps a unique solution
+     * @param eligibleCells the set of filled cells eligible for removal, which is emptied as pairs are drawn
+     * @param numPairs the number of pairs of clues to remove together
+     * @param numTrials the number of sets of pairs to check in parallel
+     * @return true if the removal is successful, false otherwise
      */
-    private Set<Coordinates> getDiagonalFilledCoordinates(Set<Coordinates> eligibleCoordinates) {
-        Set<Coordinates> diagonalPair = new HashSet<>();
-        Set<Coordinates> eligibleCoordinatesCopy = new HashSet<>(eligibleCoordinates);
-        Coordinates randomCoordinates;
-        Coordinates inverseCoordinates;
-        int inverseFactor = tileGrid.length - 1;
+    private boolean removeOppositeDiagonalCluesSpeculatively(IndexedCellSet eligibleCells, int numPairs,
+                                                             int numTrials) {
+        // Try again with different cells until no more diagonal clues can be removed
+        while (!eligibleCells.isEmpty()) {
+            int numDrawn = 0;
+
+            // Draw disjoint sets of pairs, in the same order that removeOppositeDiagonalClues would try them
+            for (; numDrawn < numTrials && !eligibleCells.isEmpty(); numDrawn++) {
+                RemovalTrial removalTrial = removalTrials[numDrawn];
+
+                removalTrial.clearRemovedCells();
 
-        // Get a random set of filled coordinates
-        randomCoordinates = getRandomCoordinates(eligibleCoordinatesCopy);
+                for (int pair = 0; pair < numPairs && !eligibleCells.isEmpty(); pair++) {
+                    int cell = drawDiagonalPair(eligibleCells);
+                    int oppositeCell = 80 - cell;
+
+                    removalTrial.addRemovedCell(cell);
+
+                    // Skip the opposite tiles of pairs that are already empty
+                    if (oppositeCell != cell && clueValues[oppositeCell] != 0) {
+                        removalTrial.addRemovedCell(oppositeCell);
+                    }
+                }
+            }
 
-        // Invert the random tile's coordinates
-        int inverseRow = (inverseFactor - randomCoordinates.row());
-        int inverseColumn = (inverseFactor - randomCoordinates.column());
+            runRemovalTrials(numDrawn);
 
-        inverseCoordinates = new Coordinates(inverseRow, inverseColumn);
+            for (int trial = 0; trial < numDrawn; trial++) {
+                RemovalTrial removalTrial = removalTrials[trial];
+
+                if (removalTrial.isUnique()) {
+                    for (int index = 0; index < removalTrial.getNumRemoved(); index++) {
+                        int cell = removalTrial.getRemovedCells()[index];
+
+                        clueValues[cell] = 0;
+                        emptyCellAndUpdate(cell);
+                    }
+
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks the first numTrials removal trials for uniqueness in parallel, each against the current clues
+     * @param numTrials the number of trials to check
+     */
+    private void runRemovalTrials(int numTrials) {
+        IntStream.range(0, numTrials).parallel().forEach(trial -> {
+            RemovalTrial removalTrial = removalTrials[trial];
+
+            removalTrial.loadClues(clueValues);
+            removalTrial.setUnique(!hasAlternativeSolution(removalTrial.getSolver(), removalTrial.getClues(),
+                    removalTrial.getRemovedCells(), removalTrial.getNumRemoved()));
+        });
+    }
+
+    /**
+     * Empties the tile of a removed clue and adds it back to the unfilled cells
+     * @param cell the index of the tile in row-major order
+     */
+    private void emptyCellAndUpdate(int cell) {
+        emptyTileAndUpdate(board.getTileByCell(cell));
+        board.addUnfilledCell(cell);
+    }
+
+    /**
+     * Draws a random cell from the eligible cells and removes both it and its diagonally opposite cell (the cell
+     * reflected through the center of the grid) from the eligible cells. The center cell is its own opposite.
+     * @param eligibleCells the set of filled cells to draw the pair from
+     * @return the drawn cell, whose opposite cell is (80 - cell)
+     */
+    private int drawDiagonalPair(IndexedCellSet eligibleCells) {
+        int cell = eligibleCells.randomCell(generator);
 
-        // Add the coordinates to a set and return
-        diagonalPair.add(randomCoordinates);
-        diagonalPair.add(inverseCoordinates);
+        eligibleCells.remove(cell);
+        eligibleCells.remove(80 - cell);
 
-        return diagonalPair;
+        return cell;
     }
 }
@@ -0,0 +1,126 @@
+package Sudoku.GameLogic;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe pool of ready-made puzzles. Background workers generate puzzles until the pool is full and
+ * then wait, so each puzzle taken from the pool is replaced automatically. If the pool is empty when a puzzle is
+ * requested, one is generated on the calling thread instead.
+ */
+public class PuzzlePool {
+    private final BlockingQueue<Puzzle> readyPuzzles;
+    private final int minimumClues;
+    private final ExecutorService workers;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Constructor: Creates a PuzzlePool and starts its background workers
+     * @param capacity the maximum number of ready puzzles to hold
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @param numWorkers the number of background threads generating puzzles
+     */
+    public PuzzlePool(int capacity, int minimumClues, int numWorkers) {
+        this.readyPuzzles = new ArrayBlockingQueue<>(capacity);
+        this.minimumClues = minimumClues;
+
+        // Use low-priority daemon threads so that the pool never delays the UI or application exit
+        this.workers = Executors.newFixedThreadPool(numWorkers, runnable -> {
+            Thread worker = new Thread(runnable, "puzzle-pool-worker");
+            worker.setDaemon(true);
+            worker.setPriority(Thread.MIN_PRIORITY);
+
+            return worker;
+        });
+
+        for (int i = 0; i < numWorkers; i++) {
+            workers.execute(this::fillPool);
+        }
+    }
+
+    /**
+     * Generates puzzles and adds them to the pool until the worker is interrupted, waiting while the pool is full. A
+     * failed generation is counted and logged, and the worker moves on to the next puzzle so the pool keeps refilling.
+     */
+    private void fillPool() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                readyPuzzles.put(new PuzzleGenerator(minimumClues).toPuzzle());
+            }
+            catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            catch (RuntimeException error) {
+                errors.increment();
+                System.err.println("Puzzle pool worker failed to generate a puzzle:");
+                error.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Takes a ready puzzle from the pool, or generates one on the calling thread if the pool is empty
+     * @return the puzzle
+     */
+    public Puzzle takePuzzle() {
+        Puzzle puzzle = readyPuzzles.poll();
+
+        if (puzzle != null) {
+            hits.increment();
+
+            return puzzle;
+        }
+
+        misses.increment();
+
+        return new PuzzleGenerator(minimumClues).toPuzzle();
+    }
+
+    /**
+     * Stops the background workers. Puzzles already in the pool can still be taken.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public int getMinimumClues() {
+        return minimumClues;
+    }
+
+    /**
+     * Gets the number of puzzles currently ready in the pool
+     * @return the number of ready puzzles
+     */
+    public int getReadyCount() {
+        return readyPuzzles.size();
+    }
+
+    /**
+     * Gets the number of requests that were served by a ready puzzle
+     * @return the number of pool hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests that had to generate a puzzle because the pool was empty
+     * @return the number of pool misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of puzzles the background workers failed to generate
+     * @return the number of generation errors
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,123 @@
+package Sudoku.GameLogic;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator that lazily generates the puzzles of a batch seed, one PuzzleGenerator per puzzle. The puzzle at each
+ * index of the batch is generated from PuzzleGenerator.puzzleSeed(batchSeed, index), so it does not depend on which
+ * spliterator generates it, and splitting only divides the range of indices. Ordered parallel streams therefore give
+ * the same puzzles in the same order as sequential streams for the same seed.
+ * <p>
+ * A bounded spliterator splits its range in half. An unbounded spliterator splits off batches of indices from the
+ * front, growing up to MAX_BATCH_SIZE, so that a short-circuiting parallel stream does not generate puzzles far past
+ * the ones it needs.
+ */
+final class PuzzleSpliterator implements Spliterator<Puzzle> {
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final int minimumClues;
+    private final long batchSeed;
+    private final boolean bounded;
+    private long index;
+    // The index after the last puzzle to generate, ignored when the spliterator is unbounded
+    private final long end;
+    // The size of the batch last split off an unbounded spliterator
+    private int batchSize;
+
+    /**
+     * Constructor: Creates a PuzzleSpliterator for the puzzles of a batch seed with indices from start to end
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param batchSeed the seed to derive each puzzle's seed from
+     * @param start the index of the first puzzle to generate
+     * @param end the index after the last puzzle to generate
+     */
+    PuzzleSpliterator(int minimumClues, long batchSeed, long start, long end) {
+        this(minimumClues, batchSeed, start, end, true);
+    }
+
+    /**
+     * Constructor: Creates an unbounded PuzzleSpliterator for every puzzle of a batch seed, starting at index 0
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param batchSeed the seed to derive each puzzle's seed from
+     */
+    PuzzleSpliterator(int minimumClues, long batchSeed) {
+        this(minimumClues, batchSeed, 0, Long.MAX_VALUE, false);
+    }
+
+    private PuzzleSpliterator(int minimumClues, long batchSeed, long start, long end, boolean bounded) {
+        this.minimumClues = minimumClues;
+        this.batchSeed = batchSeed;
+        this.index = start;
+        this.end = end;
+        this.bounded = bounded;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Puzzle> action) {
+        if (bounded && index >= end) {
+            return false;
+        }
+
+        action.accept(generate(index++));
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Puzzle> action) {
+        if (!bounded) {
+            Spliterator.super.forEachRemaining(action);
+            return;
+        }
+
+        while (index < end) {
+            action.accept(generate(index++));
+        }
+    }
+
+    @Override
+    public Spliterator<Puzzle> trySplit() {
+        long start = index;
+
+        if (bounded) {
+            long remaining = end - index;
+
+            if (remaining < 2) {
+                return null;
+            }
+
+            // Hand off the first half of the range and keep the second
+            index += remaining / 2;
+
+            return new PuzzleSpliterator(minimumClues, batchSeed, start, index);
+        }
+
+        // Hand off a batch from the front of the infinite range, doubling the batch each time
+        batchSize = Math.min(Math.max(batchSize * 2, 1), MAX_BATCH_SIZE);
+        index += batchSize;
+
+        return new PuzzleSpliterator(minimumClues, batchSeed, start, index);
+    }
+
+    @Override
+    public long estimateSize() {
+        return bounded ? end - index : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | NONNULL | IMMUTABLE;
+
+        return bounded ? (characteristics | SIZED | SUBSIZED) : characteristics;
+    }
+
+    /**
+     * Generates the puzzle at an index of the batch with its own PuzzleGenerator, which is discarded afterward
+     * @param puzzleIndex the index of the puzzle in the batch
+     * @return the generated Puzzle
+     */
+    private Puzzle generate(long puzzleIndex) {
+        return new PuzzleGenerator(minimumClues, PuzzleGenerator.puzzleSeed(batchSeed, puzzleIndex)).toPuzzle();
+    }
+}
@@ -0,0 +1,72 @@
+package Sudoku.GameLogic;
+
+/**
+ * One speculative clue removal, evaluated on its own copy of the clues with its own solver so that several trials can
+ * be checked for uniqueness at the same time
+ */
+class RemovalTrial {
+    private final SudokuSolver solver;
+    private final int[] clues = new int[81];
+    private final int[] removedCells = new int[81];
+    private int numRemoved;
+    private boolean unique;
+
+    /**
+     * Constructor: Creates a RemovalTrial with its own solving engine
+     * @param solverType the solving engine to check uniqueness with
+     */
+    RemovalTrial(SolverType solverType) {
+        this.solver = solverType.createSolver();
+    }
+
+    SudokuSolver getSolver() {
+        return this.solver;
+    }
+
+    int[] getClues() {
+        return this.clues;
+    }
+
+    int[] getRemovedCells() {
+        return this.removedCells;
+    }
+
+    int getNumRemoved() {
+        return this.numRemoved;
+    }
+
+    boolean isUnique() {
+        return this.unique;
+    }
+
+    void setUnique(boolean unique) {
+        this.unique = unique;
+    }
+
+    /**
+     * Clears the cells chosen for removal so that the trial can be reused
+     */
+    void clearRemovedCells() {
+        numRemoved = 0;
+    }
+
+    /**
+     * Adds a cell to remove in this trial
+     * @param cell the index of the cell in row-major order
+     */
+    void addRemovedCell(int cell) {
+        removedCells[numRemoved++] = cell;
+    }
+
+    /**
+     * Copies the current clues and clears the trial's removed cells in the copy
+     * @param currentClues the 81 current clues in row-major order
+     */
+    void loadClues(int[] currentClues) {
+        System.arraycopy(currentClues, 0, clues, 0, clues.length);
+
+        for (int index = 0; index < numRemoved; index++) {
+            clues[removedCells[index]] = 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package Sudoku.GameLogic;
+
+/**
+ * The solving engines available to PuzzleGenerator for uniqueness checks
+ */
+public enum SolverType {
+    BITBOARD,
+    DANCING_LINKS;
+
+    /**
+     * Creates a new solver instance for this engine
+     * @return the new SudokuSolver
+     */
+    public SudokuSolver createSolver() {
+        return switch (this) {
+            case BITBOARD -> new BitboardSolver();
+            case DANCING_LINKS -> new DancingLinksSolver();
+        };
+    }
+}
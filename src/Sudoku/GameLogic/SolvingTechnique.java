@@ -0,0 +1,35 @@
+package Sudoku.GameLogic;
+
+/**
+ * Human solving techniques used by the DifficultyGrader, declared in the order they are tried. Each technique has a
+ * weight that is added to a puzzle's score every time the technique is needed.
+ */
+public enum SolvingTechnique {
+    NAKED_SINGLE(1, Difficulty.EASY),
+    HIDDEN_SINGLE(2, Difficulty.EASY),
+    NAKED_PAIR(15, Difficulty.MEDIUM),
+    HIDDEN_PAIR(20, Difficulty.MEDIUM),
+    NAKED_TRIPLE(25, Difficulty.MEDIUM),
+    HIDDEN_TRIPLE(30, Difficulty.MEDIUM),
+    POINTING(35, Difficulty.MEDIUM),
+    CLAIMING(35, Difficulty.MEDIUM),
+    X_WING(60, Difficulty.HARD),
+    SWORDFISH(80, Difficulty.HARD),
+    XY_WING(90, Difficulty.HARD);
+
+    private final int weight;
+    private final Difficulty difficulty;
+
+    SolvingTechnique(int weight, Difficulty difficulty) {
+        this.weight = weight;
+        this.difficulty = difficulty;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
@@ -0,0 +1,65 @@
+package Sudoku.GameLogic;
+
+/**
+ * A ClueRemovalStrategy with three stages. The opening stage removes large batches while the board is still nearly
+ * full, the middle stage removes smaller batches for a limited number of iterations while many clues remain, and the
+ * final stage removes the rest in the smallest batches. The first iteration is always in the opening stage, whatever
+ * openingStageMaxUnfilled is, so the first removal from a full board always uses openingBatchSize.
+ * @param maxIterations the maximum number of iterations to run
+ * @param openingBatchSize the number of clues to remove per iteration in the opening stage
+ * @param openingStageMaxUnfilled after iteration 1, the opening stage lasts while fewer than this many tiles are empty
+ * @param middleBatchSize the number of clues to remove per iteration in the middle stage
+ * @param middleStageMinFilled the middle stage lasts while more than this many clues remain
+ * @param middleStageLastIteration the last iteration that can be in the middle stage
+ * @param finalBatchSize the number of clues to remove per iteration in the final stage
+ */
+public record StagedClueRemovalStrategy(int maxIterations, int openingBatchSize, int openingStageMaxUnfilled,
+                                        int middleBatchSize, int middleStageMinFilled, int middleStageLastIteration,
+                                        int finalBatchSize) implements ClueRemovalStrategy {
+    /**
+     * The original removal schedule: 4 clues at a time while fewer than 20 tiles are empty, then 2 at a time while more
+     * than 30 clues remain during the first 10 iterations, then 1 at a time, for 49 iterations in total
+     */
+    public static final StagedClueRemovalStrategy DEFAULT = new StagedClueRemovalStrategy(49, 4, 20, 2, 30, 10, 1);
+
+    /**
+     * Constructor: Checks that every batch size can be removed
+     */
+    public StagedClueRemovalStrategy {
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("maxIterations must not be negative");
+        }
+
+        for (int batchSize : new int[] {openingBatchSize, middleBatchSize, finalBatchSize}) {
+            if (batchSize < 1 || batchSize > 80 || (batchSize > 1 && (batchSize % 2) != 0)) {
+                throw new IllegalArgumentException("Batch sizes must be 1 or an even number up to 80, not "
+                        + batchSize);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of clues to try to remove in an iteration based on the current stage, where the first iteration
+     * is always in the opening stage
+     * @param iteration the number of the iteration, starting from 1
+     * @param filledCount the number of clues currently on the board
+     * @return the batch size of the current stage
+     */
+    @Override
+    public int getRemovalCount(int iteration, int filledCount) {
+        if (iteration == 1 || (81 - filledCount) < openingStageMaxUnfilled) {
+            return openingBatchSize;
+        }
+        else if (filledCount > middleStageMinFilled && iteration <= middleStageLastIteration) {
+            return middleBatchSize;
+        }
+        else {
+            return finalBatchSize;
+        }
+    }
+
+    @Override
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+}
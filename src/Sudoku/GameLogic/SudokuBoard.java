@@ -0,0 +1,172 @@
+package Sudoku.GameLogic;
+
+import Sudoku.UserInterface.Coordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The game-logic state of a single Sudoku board: its grid of SudokuTiles, the sets of filled and unfilled
+ * cells, and the solution count from the last uniqueness check. Each PuzzleGenerator owns its own board, so
+ * boards do not share any state with each other.
+ */
+public final class SudokuBoard {
+    private final SudokuTile[][] tileGrid = new SudokuTile[9][9];
+    // The same tiles indexed in row-major order, and the unmodifiable list of tiles in each unit (see GridUnits)
+    private final SudokuTile[] tiles = new SudokuTile[GridUnits.NUM_CELLS];
+    private final List<List<SudokuTile>> units;
+    // Cells are identified by their index in row-major order (row * 9 + column)
+    private final IndexedCellSet unfilledCells = new IndexedCellSet();
+    private final IndexedCellSet filledCells = new IndexedCellSet();
+    private int solutionCount;
+
+    /**
+     * Constructor: Creates a SudokuBoard with 81 empty tiles
+     */
+    public SudokuBoard() {
+        for (int row = 0; row < tileGrid.length; row++) {
+            for (int column = 0; column < tileGrid[row].length; column++) {
+                tileGrid[row][column] = new SudokuTile(this, row, column);
+                tiles[(row * 9) + column] = tileGrid[row][column];
+            }
+        }
+
+        // Build the list of tiles in each unit once, so that getting a unit never allocates
+        List<List<SudokuTile>> unitsList = new ArrayList<>();
+
+        for (int unit = 0; unit < GridUnits.NUM_UNITS; unit++) {
+            SudokuTile[] unitTiles = new SudokuTile[GridUnits.UNIT_SIZE];
+
+            for (int index = 0; index < unitTiles.length; index++) {
+                unitTiles[index] = tiles[GridUnits.unitCell(unit, index)];
+            }
+
+            unitsList.add(List.of(unitTiles));
+        }
+
+        units = List.copyOf(unitsList);
+    }
+
+    public SudokuTile[][] getTileGrid() {
+        return tileGrid;
+    }
+
+    public IndexedCellSet getUnfilledCells() {
+        return unfilledCells;
+    }
+
+    public IndexedCellSet getFilledCells() {
+        return filledCells;
+    }
+
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    public void setSolutionCount(int solutionCount) {
+        this.solutionCount = solutionCount;
+    }
+
+    /**
+     * Gets a reference to the SudokuTile at coordinates (row, column)
+     * @param row the row coordinate of the tile
+     * @param column the column coordinate of the tile
+     * @return the SudokuTile at the given coordinates
+     */
+    public SudokuTile getTileByCoordinates(int row, int column) {
+        return tileGrid[row][column];
+    }
+
+    /**
+     * Gets a reference to the SudokuTile at the coordinates of the given Coordinates object
+     * @param coordinates the Coordinates object with the coordinates of the tile
+     * @return the SudokuTile at the given coordinates
+     */
+    public SudokuTile getTileByCoordinates(Coordinates coordinates) {
+        return tileGrid[coordinates.row()][coordinates.column()];
+    }
+
+    /**
+     * Adds all cells to the set of unfilled cells and empties the set of filled cells
+     */
+    public void initCellSets() {
+        unfilledCells.addAllCells();
+        filledCells.clear();
+    }
+
+    /**
+     * Adds the given cell to the set of unfilled cells and removes it from the set of filled cells
+     * @param cell the index of the unfilled tile in row-major order
+     */
+    public void addUnfilledCell(int cell) {
+        unfilledCells.add(cell);
+        filledCells.remove(cell);
+    }
+
+    /**
+     * Removes the given cell from the set of unfilled cells and adds it to the set of filled cells
+     * @param cell the index of the filled tile in row-major order
+     */
+    public void removeUnfilledCell(int cell) {
+        unfilledCells.remove(cell);
+        filledCells.add(cell);
+    }
+
+    /**
+     * Gets a reference to the SudokuTile at a cell index
+     * @param cell the index of the tile in row-major order
+     * @return the SudokuTile at the given cell
+     */
+    public SudokuTile getTileByCell(int cell) {
+        return tiles[cell];
+    }
+
+    /**
+     * Gets the tiles of a unit
+     * @param unit the index of the unit (0-8 for rows, 9-17 for columns, 18-26 for boxes)
+     * @return the unmodifiable list of the unit's tiles, in row-major order
+     */
+    public List<SudokuTile> getUnit(int unit) {
+        return units.get(unit);
+    }
+
+    /**
+     * Gets a 2D-list of the rows of SudokuTiles in the tileGrid
+     * @return the unmodifiable list of rows
+     */
+    public List<List<SudokuTile>> getRows() {
+        return units.subList(0, 9);
+    }
+
+    /**
+     * Gets a 2D-list of the columns of SudokuTiles in the tileGrid
+     * @return the unmodifiable list of columns
+     */
+    public List<List<SudokuTile>> getColumns() {
+        return units.subList(9, 18);
+    }
+
+    /**
+     * Gets a 2D-list of the boxes of SudokuTiles in the tileGrid
+     * @return the unmodifiable list of boxes
+     */
+    public List<List<SudokuTile>> getBoxes() {
+        return units.subList(18, 27);
+    }
+
+    /**
+     * Converts the tileGrid's values to a flat integer array in row-major order and returns it
+     * @return the integer array of the tileGrid's values, where 0 is an empty tile
+     */
+    public int[] tileGridToArray() {
+        int[] board = new int[81];
+
+        for (int rowIndex = 0; rowIndex < tileGrid.length; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < tileGrid[rowIndex].length; columnIndex++) {
+                board[(rowIndex * 9) + columnIndex] = tileGrid[rowIndex][columnIndex].getValue();
+            }
+        }
+
+        return board;
+    }
+}
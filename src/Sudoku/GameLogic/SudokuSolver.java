@@ -0,0 +1,63 @@
+package Sudoku.GameLogic;
+
+/**
+ * A solving engine that PuzzleGenerator uses to check how many solutions a board has
+ */
+public interface SudokuSolver {
+    /**
+     * Counts the solutions of a board up to a specified maximum number
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * @return the number of solutions found
+     */
+    int countSolutions(int[] board, int maxSolutions);
+
+    /**
+     * Counts the solutions of a board up to a specified maximum number, copying the first solution found into an
+     * array. This default finds the solution one cell at a time by keeping the first digit that still leaves the board
+     * solvable, so engines should override it when they can record a solution during their search.
+     * @param board the 81 values of the board in row-major order, where 0 is an empty cell
+     * @param maxSolutions the maximum number of solutions to find, or 0 for no maximum
+     * @param firstSolution the array to copy the 81 values of the first solution to, left unchanged if there is none
+     * @return the number of solutions found
+     */
+    default int countSolutions(int[] board, int maxSolutions, int[] firstSolution) {
+        int solutionCount = countSolutions(board, maxSolutions);
+
+        if (solutionCount == 0) {
+            return 0;
+        }
+
+        int[] partialSolution = board.clone();
+
+        for (int cell = 0; cell < partialSolution.length; cell++) {
+            if (partialSolution[cell] == 0) {
+                for (int digit = 1; digit <= 9; digit++) {
+                    partialSolution[cell] = digit;
+
+                    if (countSolutions(partialSolution, 1) > 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        System.arraycopy(partialSolution, 0, firstSolution, 0, partialSolution.length);
+
+        return solutionCount;
+    }
+
+    /**
+     * Checks whether removing some clues from a uniquely solvable board allows a solution other than the known one.
+     * Since the board had a unique solution before the removal, any other solution must differ from the known solution
+     * in at least one of the removed cells.
+     * @param board the 81 values of the board after the removal in row-major order, where 0 is an empty cell
+     * @param solution the 81 values of the board's known solution in row-major order
+     * @param removedCells the indices of the cells whose clues were removed
+     * @param numRemoved the number of removed cells at the start of removedCells
+     * @return true if the board has another solution, false if the known solution is still unique
+     */
+    default boolean hasAlternativeSolution(int[] board, int[] solution, int[] removedCells, int numRemoved) {
+        return countSolutions(board, 2) > 1;
+    }
+}
@@ -1,45 +1,29 @@
 package Sudoku.GameLogic;
 
 import Sudoku.UserInterface.Coordinates;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.scene.paint.Color;
-
-import java.util.ArrayList;
-import java.util.Arrays;
+
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class SudokuTile {
-    // Used for accessing tiles by index
-    private static final SudokuTile[][] tileGrid = new SudokuTile[9][9];
-    private static SudokuTile lastClickedTile;
+    // Candidate bitmask with all values 1-9 set
+    public static final int ALL_CANDIDATES = 0x1FF;
+    // The board that this tile belongs to
+    private final SudokuBoard board;
     // First coordinate is row, second coordinate is column
     private final Coordinates coordinates;
     private boolean editable = true;
-    private SimpleIntegerProperty valueProperty = new SimpleIntegerProperty();
-    private StringBuilder candidates = new StringBuilder();
-    private SimpleBooleanProperty clickedProperty = new SimpleBooleanProperty(false);
-    private SimpleBooleanProperty relevantProperty = new SimpleBooleanProperty(false);
-    private SimpleBooleanProperty hoveredProperty = new SimpleBooleanProperty(false);
-    private SimpleBooleanProperty validProperty = new SimpleBooleanProperty(true);
-    private final Color TILE_NEUTRAL_COLOR = Color.rgb(0, 0, 0, 0.0);
-    private final Color TILE_RELEVANT_COLOR = Color.rgb(0, 0, 0, 0.1);
-    private final Color TILE_HOVERED_COLOR = Color.rgb(0, 0, 0, 0.25);
-    private final Color TILE_CLICKED_COLOR = Color.rgb(0, 0, 0, 0.4);
-    private ObjectProperty<Color> colorProperty = new SimpleObjectProperty<>(TILE_NEUTRAL_COLOR);
-
-    public SudokuTile(int row, int column) {
-        coordinates = new Coordinates(row, column);
-
-        // Add the tile to the global tileGrid
-        tileGrid[getRowIndex()][getColumnIndex()] = this;
+    private int value;
+    // Bit (n - 1) is set if n is a candidate for this tile
+    private int candidates;
+
+    public SudokuTile(SudokuBoard board, int row, int column) {
+        this.board = board;
+        this.coordinates = Coordinates.of(row, column);
     }
 
-    public static SudokuTile[][] getTileGrid() {
-        return tileGrid;
+    public SudokuBoard getBoard() {
+        return board;
     }
 
     public Coordinates getCoordinates() {
@@ -54,40 +38,37 @@ public class SudokuTile {
         return coordinates.column();
     }
 
-    public Color getColor() {
-        return colorProperty.get();
-    }
-
-    public void setColorNeutral() {
-        colorProperty.set(TILE_NEUTRAL_COLOR);
-    }
-
-    public void setColorRelevant() {
-        colorProperty.set(TILE_RELEVANT_COLOR);
-    }
-
-    public void setColorHovered() {
-        colorProperty.set(TILE_HOVERED_COLOR);
-    }
-
-    public void setColorClicked() {
-        colorProperty.set(TILE_CLICKED_COLOR);
-    }
-
-    public ObjectProperty<Color> colorProperty() {
-        return colorProperty;
+    /**
+     * Gets the index of this tile in row-major order
+     * @return the cell index (row * 9 + column)
+     */
+    public int getCellIndex() {
+        return coordinates.cell();
     }
 
-    public StringBuilder getCandidates() {
+    /**
+     * Gets the bitmask of candidates for this tile, where bit (n - 1) is set if n is a candidate
+     * @return the candidate bitmask
+     */
+    public int getCandidates() {
         return candidates;
     }
 
-    public void setCandidates(String candidates) {
-        if (!this.candidates.isEmpty()) {
-            this.candidates.delete(0, this.candidates.length());
-        }
+    /**
+     * Sets the candidates for this tile using a candidate bitmask
+     * @param candidates the new candidate bitmask
+     */
+    public void setCandidates(int candidates) {
+        this.candidates = candidates & ALL_CANDIDATES;
+    }
 
-        this.candidates.append(candidates);
+    /**
+     * Gets the bitmask with only the bit for the given candidate set
+     * @param candidate the candidate (1-9)
+     * @return the bitmask for the candidate
+     */
+    public static int candidateBit(int candidate) {
+        return 1 << (candidate - 1);
     }
 
     /**
@@ -95,9 +76,7 @@ public class SudokuTile {
      * @param candidate the candidate to add
      */
     public void addCandidate(int candidate) {
-        if (this.candidates.indexOf(Integer.toString(candidate)) == -1) {
-            this.candidates.append(candidate);
-        }
+        this.candidates |= candidateBit(candidate);
     }
 
     /**
@@ -105,24 +84,39 @@ public class SudokuTile {
      * @param candidate the candidate to remove
      */
     public void removeCandidate(int candidate) {
-        int candidateIndex = this.candidates.indexOf(Integer.toString(candidate));
+        this.candidates &= ~candidateBit(candidate);
+    }
 
-        if (candidateIndex != -1) {
-            this.candidates.deleteCharAt(candidateIndex);
+    /**
+     * Gets the lowest candidate from this tile's list of valid candidates
+     * @return the lowest candidate as an integer, or 0 if there are no valid candidates
+     */
+    public int getLowestCandidate() {
+        if (this.candidates == 0) {
+            return 0;
         }
+
+        return Integer.numberOfTrailingZeros(this.candidates) + 1;
     }
 
     /**
      * Gets a random candidate from this tile's list of valid candidates
+     * @param generator the random number generator to use
      * @return the random candidate as an integer
      * @throws IllegalArgumentException if there are no valid candidates
      */
-    public int getRandomCandidate() throws IllegalArgumentException {
-        Random generator = new Random();
+    public int getRandomCandidate(RandomGenerator generator) throws IllegalArgumentException {
+        int remainingCandidates = this.candidates;
+
+        // Generate a random index from the set bits of the candidate mask
+        int candidateIndex = generator.nextInt(getNumCandidates());
 
-        // Generate a random index from the String of valid candidates
-        int candidateIndex = generator.nextInt(this.getCandidates().length());
-        return Integer.parseInt(String.valueOf(this.getCandidates().charAt(candidateIndex)));
+        // Clear the lowest set bits until the random index is reached
+        for (int index = 0; index < candidateIndex; index++) {
+            remainingCandidates &= (remainingCandidates - 1);
+        }
+
+        return Integer.numberOfTrailingZeros(remainingCandidates) + 1;
     }
 
     /**
@@ -131,13 +125,7 @@ public class SudokuTile {
      * @return true if the candidate matches, false if it does not or there are multiple candidates
      */
     public boolean onlyCandidateEquals(int candidate) {
-        // Return false if there is more than one candidate
-        if (this.candidates.length() > 1) {
-            return false;
-        }
-
-        // Return true if the candidate matches, false otherwise
-        return this.candidates.toString().equals(Integer.toString(candidate));
+        return this.candidates == candidateBit(candidate);
     }
 
     /**
@@ -145,7 +133,7 @@ public class SudokuTile {
      * @return the number of remaining candidates
      */
     public int getNumCandidates() {
-        return this.candidates.length();
+        return Integer.bitCount(this.candidates);
     }
 
     /**
@@ -154,120 +142,31 @@ public class SudokuTile {
      * @return true if the candidate is present, false otherwise
      */
     public boolean hasCandidate(int candidate) {
-        if (this.candidates.indexOf(Integer.toString(candidate)) != -1) {
-            return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Gets a reference to the SudokuTile at coordinates (row, column)
-     * @param row the row coordinate of the tile
-     * @param column the column coordinate of the tile
-     * @return the SudokuTile at the given coordinates
-     */
-    public static SudokuTile getTileByCoordinates(int row, int column) {
-        return tileGrid[row][column];
-    }
-
-    /**
-     * Gets a reference to the SudokuTile at the coordinates of the given Coordinates object
-     * @param coordinates the Coordinates object with the coordinates of the tile
-     * @return the SudokuTile at the given coordinates
-     */
-    public static SudokuTile getTileByCoordinates(Coordinates coordinates) {
-        return tileGrid[coordinates.row()][coordinates.column()];
+        return (this.candidates & candidateBit(candidate)) != 0;
     }
 
     /**
      * Retrieves a collection of all the SudokuTiles in the same row as the current one
-     * @return the list of tiles in the same row
+     * @return the unmodifiable list of tiles in the same row
      */
     public List<SudokuTile> getRow() {
-        int rowIndex = this.getRowIndex();
-
-        // Return an ArrayList of all tiles in this tile's row
-        return new ArrayList<>(Arrays.asList(tileGrid[rowIndex]));
+        return board.getUnit(GridUnits.rowUnit(getCellIndex()));
     }
 
     /**
      * Retrieves a collection of all the SudokuTiles in the same column as the current one
-     * @return the list of tiles in the same column
+     * @return the unmodifiable list of tiles in the same column
      */
     public List<SudokuTile> getColumn() {
-        List<SudokuTile> columnList = new ArrayList<>();
-        int columnIndex = this.getColumnIndex();
-
-        // For each row in the tileGrid, add the tile from the corresponding column
-        for (SudokuTile[] row : tileGrid) {
-            columnList.add(row[columnIndex]);
-        }
-
-        return columnList;
+        return board.getUnit(GridUnits.columnUnit(getCellIndex()));
     }
 
     /**
      * Retrieves a collection of all the SudokuTiles in the same box as the current one
-     * @return the list of tiles in the same box
+     * @return the unmodifiable list of tiles in the same box
      */
     public List<SudokuTile> getBox() {
-        List<SudokuTile> boxList = new ArrayList<>();
-        int boxRowIndex = (this.getRowIndex() / 3);
-        int boxColumnIndex = (this.getColumnIndex() / 3);
-
-        for (int rowIndex = (boxRowIndex * 3); rowIndex < ((boxRowIndex + 1) * 3); rowIndex++) {
-            boxList.addAll(Arrays.asList(tileGrid[rowIndex]).subList((boxColumnIndex * 3), ((boxColumnIndex + 1) * 3)));
-        }
-
-        return boxList;
-    }
-
-    /**
-     * Gets a 2D-list of the rows of SudokuTiles in the tileGrid
-     * @return the list of rows
-     */
-    public static List<List<SudokuTile>> getRows() {
-        List<List<SudokuTile>> rowsList = new ArrayList<>();
-
-        // Add each row in the tileGrid
-        for (SudokuTile[] row : tileGrid) {
-            rowsList.add(row[0].getRow());
-        }
-
-        return rowsList;
-    }
-
-    /**
-     * Gets a 2D-list of the columns of SudokuTiles in the tileGrid
-     * @return the list of columns
-     */
-    public static List<List<SudokuTile>> getColumns() {
-        List<List<SudokuTile>> columnsList = new ArrayList<>();
-
-        // Add each column in the tileGrid
-        for (int columnIndex = 0; columnIndex < tileGrid[0].length; columnIndex++) {
-            columnsList.add(tileGrid[0][columnIndex].getColumn());
-        }
-
-        return columnsList;
-    }
-
-    /**
-     * Gets a 2D-list of the boxes of SudokuTiles in the tileGrid
-     * @return the list of boxes
-     */
-    public static List<List<SudokuTile>> getBoxes() {
-        List<List<SudokuTile>> boxesList = new ArrayList<>();
-
-        // Add each box in the tileGrid
-        for (int rowIndex = 0; rowIndex < tileGrid.length; rowIndex += 3) {
-            for (int columnIndex = 0; columnIndex < tileGrid[rowIndex].length; columnIndex += 3) {
-                boxesList.add(tileGrid[rowIndex][columnIndex].getBox());
-            }
-        }
-
-        return boxesList;
+        return board.getUnit(GridUnits.boxUnit(getCellIndex()));
     }
 
     /**
@@ -288,76 +187,25 @@ public class SudokuTile {
         return false;
     }
 
-    /**
-     * Returns a boolean value corresponding to whether the tileGrid is full or not
-     * @return true if the tileGrid is full, false otherwise
-     */
-    public static boolean tileGridFull() {
-        for (SudokuTile[] row : tileGrid) {
-            for (SudokuTile tile : row) {
-                if (tile.getValue() == null) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
-    }
-
-    /**
-     * Converts the tileGrid's values to an integer array and returns it
-     * @return the integer array of the tileGrid's values
-     */
-    public static ArrayList<ArrayList<Integer>> tileGridToArrayList() {
-        ArrayList<ArrayList<Integer>> board = new ArrayList<>();
-
-        for (int rowIndex = 0; rowIndex < tileGrid.length; rowIndex++) {
-            ArrayList<Integer> row = new ArrayList<>();
-
-            for (int columnIndex = 0; columnIndex < tileGrid[rowIndex].length; columnIndex++) {
-                Integer value = tileGrid[rowIndex][columnIndex].getValue();
-
-                if (value != null) {
-                    row.add(value);
-                }
-                else {
-                    row.add(0);
-                }
-            }
-
-            board.add(row);
-        }
-
-        return board;
-    }
-
     public boolean isEmpty() {
-        return getValue() == null || getValue() == 0;
+        return value == 0;
     }
 
-    public Integer getValue() {
-        return valueProperty.get();
+    public int getValue() {
+        return value;
     }
 
     /**
-     * Sets the value associated with the SudokuTile and displays it if it is not 0
+     * Sets the value associated with the SudokuTile, where 0 is an empty tile
      * @param value the value to set for the SudokuTile
      */
     protected void setValue(int value) {
         // Do not accept a value not in the range 1-9 unless it is 0
         if (value == 0 || (value >= 1 && value <= 9)) {
-            this.valueProperty.set(value);
+            this.value = value;
         }
     }
 
-    /**
-     * Gets a reference to the tile's valueProperty
-     * @return the tile's valueProperty itself
-     */
-    public SimpleIntegerProperty valueProperty() {
-        return valueProperty;
-    }
-
     /**
      * Gets the value corresponding to whether the tile is editable
      * @return the boolean value of editable
@@ -373,136 +221,4 @@ public class SudokuTile {
     protected void setEditable(boolean editable) {
         this.editable = editable;
     }
-
-    /**
-     * Gets the SudokuTile object for the tile that was last clicked by the user
-     * @return the last clicked SudokuTile
-     */
-    public static SudokuTile getLastClickedTile() {
-        return lastClickedTile;
-    }
-
-    /**
-     * Sets lastClickedTile to the specified tile
-     * @param tile the tile to set lastClickedTile to
-     */
-    public static void setLastClickedTile(SudokuTile tile) {
-        lastClickedTile = tile;
-    }
-
-    /**
-     * Gets the value of the tile's clickedProperty
-     * @return the value of the tile's clickedProperty
-     */
-    public boolean getClicked() {
-        return clickedProperty.get();
-    }
-
-    /**
-     * Sets the value of the tile's clickedProperty
-     * @param clicked the new value for the tile's clickedProperty
-     */
-    public void setClicked(boolean clicked) {
-        clickedProperty.set(clicked);
-    }
-
-    /**
-     * Gets a reference to the tile's clickedProperty
-     * @return the tile's clickedProperty itself
-     */
-    public SimpleBooleanProperty clickedProperty() {
-        return clickedProperty;
-    }
-
-    /**
-     * Gets the value of the tile's relevantProperty
-     * @return the value of the tile's relevantProperty
-     */
-    public boolean getRelevant() {
-        return relevantProperty.get();
-    }
-
-    /**
-     * Sets the value of the tile's relevantProperty
-     * @param relevant the new value for the tile's relevantProperty
-     */
-    public void setRelevant(boolean relevant) {
-        relevantProperty.set(relevant);
-    }
-
-    /**
-     * Gets a reference to the tile's relevantProperty
-     * @return the tile's relevantProperty itself
-     */
-    public SimpleBooleanProperty relevantProperty() {
-        return relevantProperty;
-    }
-
-    /**
-     * Gets the value of the tile's hoveredProperty
-     * @return the value of the tile's hoveredProperty
-     */
-    public boolean getHovered() {
-        return hoveredProperty.get();
-    }
-
-    /**
-     * Sets the value of the tile's hoveredProperty
-     * @param hovered the new value for the tile's hoveredProperty
-     */
-    public void setHovered(boolean hovered) {
-        hoveredProperty.set(hovered);
-    }
-
-    /**
-     * Gets a reference to the tile's hoveredProperty
-     * @return the tile's hoveredProperty itself
-     */
-    public SimpleBooleanProperty hoveredProperty() {
-        return hoveredProperty;
-    }
-
-    /**
-     * Gets the value of the tile's validProperty
-     * @return the value of the tile's validProperty
-     */
-    public boolean getValid() {
-        return validProperty.get();
-    }
-
-    /**
-     * Sets the value of the tile's validProperty
-     * @param valid the new value for the tile's validProperty
-     */
-    public void setValid(boolean valid) {
-        validProperty.set(valid);
-    }
-
-    /**
-     * Gets a reference to the tile's validProperty
-     * @return the tile's validProperty itself
-     */
-    public SimpleBooleanProperty validProperty() {
-        return validProperty;
-    }
-
-    public void setRelevantTiles() {
-        for (SudokuTile[] row : tileGrid) {
-            for (SudokuTile tile : row) {
-                if (tile != this && (tile.getRowIndex() == this.getRowIndex() || tile.getColumnIndex() == this.getColumnIndex())) {
-                    tile.setRelevant(true);
-                }
-            }
-        }
-    }
-
-    public void unsetRelevantTiles() {
-        for (SudokuTile[] row : tileGrid) {
-            for (SudokuTile tile : row) {
-                if (tile != this && (tile.getRowIndex() == this.getRowIndex() || tile.getColumnIndex() == this.getColumnIndex())) {
-                    tile.setRelevant(false);
-                }
-            }
-        }
-    }
 }
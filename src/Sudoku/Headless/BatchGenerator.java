@@ -0,0 +1,363 @@
+package Sudoku.Headless;
+
+import Sudoku.Diagnostics.GenerationMetrics;
+import Sudoku.Diagnostics.Histogram;
+import Sudoku.GameLogic.Puzzle;
+import Sudoku.GameLogic.PuzzleGenerator;
+import Sudoku.Storage.PuzzleBank;
+import Sudoku.Storage.PuzzleWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A command-line entry point for generating puzzles without JavaFX, for example to build puzzle banks on machines
+ * without a display. Puzzles are generated on a fixed pool of worker threads and written to the output file in the
+ * order of their seeds as they finish, so only a small window of puzzles is held in memory at once. The seed of each
+ * puzzle is drawn from the batch seed in the same way as PuzzleGenerator.generateBatch, so the output is the same for
+ * the same seed regardless of the number of threads. A summary of the throughput, latency, and restarts is printed
+ * when the batch finishes.
+ * <p>
+ * Usage: {@code java Sudoku.Headless.BatchGenerator --count=<n> --output=<path> [--minClues=<n>] [--threads=<n>]
+ * [--seed=<n>] [--format=text|binary|bank]}
+ */
+public class BatchGenerator {
+    private static final String USAGE = "Usage: BatchGenerator --count=<n> --output=<path> [--minClues=<n>] "
+            + "[--threads=<n>] [--seed=<n>] [--format=text|binary|bank]";
+    private static final int DEFAULT_MINIMUM_CLUES = 25;
+    // The number of puzzles each thread may generate ahead of the one being written
+    private static final int PUZZLES_AHEAD_PER_THREAD = 16;
+    // The number of puzzles appended to a puzzle bank with each write
+    private static final int BANK_WRITE_SIZE = 256;
+
+    /**
+     * The file formats the batch can be written in
+     */
+    public enum OutputFormat {
+        // One line per puzzle with the 81 clues in row-major order, where '.' is an empty tile
+        TEXT,
+        // A PuzzleWriter stream of PuzzleCodec records, which includes the solutions and grades
+        BINARY,
+        // Records appended to a PuzzleBank, creating the bank if it does not exist
+        BANK
+    }
+
+    private final int count;
+    private final int minimumClues;
+    private final int threads;
+    private final long batchSeed;
+    private final OutputFormat format;
+    private final Path output;
+
+    /**
+     * Constructor: Creates a BatchGenerator
+     * @param count the number of puzzles to generate
+     * @param minimumClues the minimum number of clues to leave in each puzzle
+     * @param threads the number of worker threads to generate puzzles with
+     * @param batchSeed the seed to draw each puzzle's seed from
+     * @param format the format to write the puzzles in
+     * @param output the path of the file to write the puzzles to
+     * @throws IllegalArgumentException if the count is negative or there are fewer than 1 threads
+     */
+    public BatchGenerator(int count, int minimumClues, int threads, long batchSeed, OutputFormat format,
+                          Path output) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+
+        this.count = count;
+        this.minimumClues = minimumClues;
+        this.threads = threads;
+        this.batchSeed = batchSeed;
+        this.format = format;
+        this.output = output;
+    }
+
+    /**
+     * Generates the batch and writes it to the output file
+     * @return the summary of the batch
+     * @throws IOException if the output file cannot be written
+     * @throws InterruptedException if the thread is interrupted while waiting for a puzzle
+     */
+    public Summary run() throws IOException, InterruptedException {
+        GenerationMetrics metrics = PuzzleGenerator.getMetrics();
+        Histogram latencies = Histogram.exponential();
+        int nextIndex = 0;
+        ArrayDeque<Future<Puzzle>> pending = new ArrayDeque<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+
+        // The metrics are shared by every generator, so the batch reports the change in each counter
+        long startFillRestarts = metrics.getFillRestarts();
+        long startInvalidTripleRestarts = metrics.getInvalidTripleRestarts();
+        long startIterationLimits = metrics.getRemovalIterationLimits();
+        long startBacktracks = metrics.getBacktracks();
+        long startTime = System.nanoTime();
+
+        try (PuzzleOutput puzzleOutput = openOutput()) {
+            while (nextIndex < count || !pending.isEmpty()) {
+                // Keep every thread busy while the oldest puzzle is written
+                while (nextIndex < count && pending.size() < threads * PUZZLES_AHEAD_PER_THREAD) {
+                    long seed = PuzzleGenerator.puzzleSeed(batchSeed, nextIndex++);
+
+                    pending.add(workers.submit(() -> {
+                        long puzzleStart = System.nanoTime();
+                        Puzzle puzzle = new PuzzleGenerator(minimumClues, seed).toPuzzle();
+
+                        latencies.record(System.nanoTime() - puzzleStart);
+
+                        return puzzle;
+                    }));
+                }
+
+                puzzleOutput.write(pending.remove().get());
+            }
+        }
+        catch (ExecutionException error) {
+            throw new IllegalStateException("Puzzle generation failed", error.getCause());
+        }
+        finally {
+            workers.shutdownNow();
+        }
+
+        return new Summary(count, threads, batchSeed, System.nanoTime() - startTime, latencies,
+                metrics.getFillRestarts() - startFillRestarts,
+                metrics.getInvalidTripleRestarts() - startInvalidTripleRestarts,
+                metrics.getRemovalIterationLimits() - startIterationLimits, metrics.getBacktracks() - startBacktracks);
+    }
+
+    /**
+     * Opens the output file in the batch's format
+     * @return the output to write puzzles to
+     * @throws IOException if the file cannot be opened
+     */
+    private PuzzleOutput openOutput() throws IOException {
+        return switch (format) {
+            case TEXT -> new TextOutput(Files.newBufferedWriter(output));
+            case BINARY -> new BinaryOutput(new PuzzleWriter(FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)));
+            case BANK -> new BankOutput(PuzzleBank.open(output));
+        };
+    }
+
+    /**
+     * Parses the command-line options, generates the batch, and prints its summary
+     * @param args the options, each in the form --name=value
+     */
+    public static void main(String[] args) {
+        BatchGenerator batchGenerator;
+
+        try {
+            batchGenerator = fromArguments(args);
+        }
+        catch (IllegalArgumentException error) {
+            System.err.println(error.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+
+            return;
+        }
+
+        try {
+            batchGenerator.run().print(System.out);
+        }
+        catch (IOException | InterruptedException error) {
+            System.err.println("Batch generation failed: " + error.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a BatchGenerator from command-line options
+     * @param args the options, each in the form --name=value
+     * @return the configured BatchGenerator
+     * @throws IllegalArgumentException if an option is unknown, malformed, or missing
+     */
+    static BatchGenerator fromArguments(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Malformed option: " + arg);
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        for (String name : options.keySet()) {
+            if (!List.of("count", "output", "minClues", "threads", "seed", "format").contains(name)) {
+                throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        if (!options.containsKey("count") || !options.containsKey("output")) {
+            throw new IllegalArgumentException("--count and --output are required");
+        }
+
+        try {
+            return new BatchGenerator(Integer.parseInt(options.get("count")),
+                    Integer.parseInt(options.getOrDefault("minClues", String.valueOf(DEFAULT_MINIMUM_CLUES))),
+                    Integer.parseInt(options.getOrDefault("threads",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    options.containsKey("seed") ? Long.parseLong(options.get("seed"))
+                            : ThreadLocalRandom.current().nextLong(),
+                    OutputFormat.valueOf(options.getOrDefault("format", "text").toUpperCase(Locale.ROOT)),
+                    Path.of(options.get("output")));
+        }
+        catch (NumberFormatException error) {
+            throw new IllegalArgumentException("Invalid number: " + error.getMessage());
+        }
+    }
+
+    /**
+     * The results of generating a batch
+     * @param puzzles the number of puzzles generated
+     * @param threads the number of worker threads used
+     * @param batchSeed the seed the puzzles' seeds were drawn from
+     * @param elapsedNanos the time taken to generate and write the batch in nanoseconds
+     * @param latencies the time taken to generate each puzzle in nanoseconds
+     * @param fillRestarts the number of fillGrid restarts after too many iterations
+     * @param invalidTripleRestarts the number of full-grid restarts caused by an invalid triple
+     * @param removalIterationLimits the number of clue removals that stopped at the iteration limit
+     * @param backtracks the number of backtracks while filling grids
+     */
+    public record Summary(long puzzles, int threads, long batchSeed, long elapsedNanos, Histogram latencies,
+                          long fillRestarts, long invalidTripleRestarts, long removalIterationLimits,
+                          long backtracks) {
+        /**
+         * Gets the number of puzzles generated per second of the batch
+         * @return the throughput in puzzles per second
+         */
+        public double puzzlesPerSecond() {
+            return (elapsedNanos == 0) ? 0 : (puzzles * 1e9) / elapsedNanos;
+        }
+
+        /**
+         * Prints the summary in a human-readable form
+         * @param out the stream to print to
+         */
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "Generated %d puzzles in %.2f s on %d threads (seed %d)%n", puzzles,
+                    elapsedNanos / 1e9, threads, batchSeed);
+            out.printf(Locale.ROOT, "Throughput: %.1f puzzles/sec%n", puzzlesPerSecond());
+            out.printf(Locale.ROOT, "Latency (ms): mean %.2f, p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                    latencies.getMean() / 1e6, latencies.getPercentile(50) / 1e6, latencies.getPercentile(90) / 1e6,
+                    latencies.getPercentile(99) / 1e6, latencies.getMax() / 1e6);
+            out.printf(Locale.ROOT, "Restarts: %d fill, %d invalid triple, %d removal iteration limits; %d "
+                    + "backtracks%n", fillRestarts, invalidTripleRestarts, removalIterationLimits, backtracks);
+        }
+    }
+
+    /**
+     * A destination for the generated puzzles
+     */
+    private interface PuzzleOutput extends Closeable {
+        void write(Puzzle puzzle) throws IOException;
+    }
+
+    /**
+     * Writes each puzzle's clues as one line of 81 characters
+     */
+    private static class TextOutput implements PuzzleOutput {
+        private final BufferedWriter writer;
+        private final char[] line = new char[81];
+
+        TextOutput(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Puzzle puzzle) throws IOException {
+            int[] clues = puzzle.getClues();
+
+            for (int cell = 0; cell < line.length; cell++) {
+                line[cell] = (clues[cell] == 0) ? '.' : (char) ('0' + clues[cell]);
+            }
+
+            writer.write(line);
+            writer.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes each puzzle as a PuzzleCodec record in a PuzzleWriter stream
+     */
+    private static class BinaryOutput implements PuzzleOutput {
+        private final PuzzleWriter writer;
+
+        BinaryOutput(PuzzleWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Puzzle puzzle) throws IOException {
+            writer.write(puzzle);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Appends the puzzles to a PuzzleBank in groups, so that the bank is not written once per puzzle
+     */
+    private static class BankOutput implements PuzzleOutput {
+        private final PuzzleBank bank;
+        private final List<Puzzle> buffered = new ArrayList<>(BANK_WRITE_SIZE);
+
+        BankOutput(PuzzleBank bank) {
+            this.bank = bank;
+        }
+
+        @Override
+        public void write(Puzzle puzzle) throws IOException {
+            buffered.add(puzzle);
+
+            if (buffered.size() == BANK_WRITE_SIZE) {
+                bank.appendAll(buffered);
+                buffered.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!buffered.isEmpty()) {
+                    bank.appendAll(buffered);
+                }
+            }
+            finally {
+                bank.close();
+            }
+        }
+    }
+}
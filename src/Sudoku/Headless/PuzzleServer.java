@@ -0,0 +1,450 @@
+package Sudoku.Headless;
+
+import Sudoku.GameLogic.Puzzle;
+import Sudoku.GameLogic.PuzzleGenerator;
+import Sudoku.GameLogic.SolverType;
+import Sudoku.GameLogic.SudokuSolver;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An embedded HTTP service that generates, solves, and checks puzzles for other tools on the same machine, so that
+ * they can share one JVM instead of each running their own. Every request runs on its own virtual thread, while the
+ * CPU-bound work of generating and solving is limited by a semaphore to one task per core. Requests that would make
+ * the backlog of waiting tasks exceed its limit are rejected straight away with 503 Service Unavailable.
+ * <p>
+ * Endpoints (GET, or POST with the puzzle as the request body):
+ * <ul>
+ *     <li>/puzzle?minClues=25&amp;seed=n: a fresh puzzle with its solution, grade, and seed</li>
+ *     <li>/solve?puzzle=...: the first solution of a puzzle and whether it is unique</li>
+ *     <li>/uniqueness?puzzle=...: the number of solutions of a puzzle, up to 2</li>
+ *     <li>/metrics: the generation metrics in the Prometheus text format</li>
+ * </ul>
+ * Puzzles are 81 characters in row-major order, where '.' or '0' is an empty tile. Responses are JSON, or compact text
+ * with one value per line when the request has format=text.
+ */
+public class PuzzleServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MINIMUM_CLUES = 25;
+    // The number of tasks that may wait for a permit for each core before requests are rejected
+    private static final int DEFAULT_BACKLOG_PER_CORE = 16;
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore workPermits;
+    // The number of tasks running or waiting for a permit
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final int maxPendingTasks;
+
+    /**
+     * Constructor: Creates a PuzzleServer bound to an address without starting it
+     * @param address the address to listen on
+     * @param maxConcurrency the maximum number of generating or solving tasks to run at once
+     * @param maxBacklog the maximum number of tasks that may wait for a running task to finish
+     * @throws IOException if the server cannot be bound to the address
+     * @throws IllegalArgumentException if maxConcurrency is less than 1 or maxBacklog is negative
+     */
+    public PuzzleServer(InetSocketAddress address, int maxConcurrency, int maxBacklog) throws IOException {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+
+        if (maxBacklog < 0) {
+            throw new IllegalArgumentException("maxBacklog must not be negative");
+        }
+
+        this.workPermits = new Semaphore(maxConcurrency);
+        this.maxPendingTasks = maxConcurrency + maxBacklog;
+        this.server = HttpServer.create(address, 0);
+
+        server.createContext("/puzzle", handler(this::handlePuzzle));
+        server.createContext("/solve", handler(this::handleSolve));
+        server.createContext("/uniqueness", handler(this::handleUniqueness));
+        server.createContext("/metrics", handler(this::handleMetrics));
+        server.setExecutor(requestExecutor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits for the current requests to finish, and shuts down the request threads
+     * @param delaySeconds the maximum number of seconds to wait for the current requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        requestExecutor.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Generates a fresh puzzle
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handlePuzzle(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        int minimumClues = parseInt(query, "minClues", DEFAULT_MINIMUM_CLUES);
+
+        if (minimumClues < 17 || minimumClues > 81) {
+            throw new RequestException(400, "minClues must be between 17 and 81");
+        }
+
+        Long seed = query.containsKey("seed") ? parseLong(query, "seed") : null;
+        Puzzle puzzle = runLimited(() -> ((seed != null) ? new PuzzleGenerator(minimumClues, seed)
+                : new PuzzleGenerator(minimumClues)).toPuzzle());
+
+        if (isTextFormat(query)) {
+            sendText(exchange, 200, toPuzzleString(puzzle.getClues()) + "\n"
+                    + toPuzzleString(puzzle.getSolution()) + "\n");
+        }
+        else {
+            sendJson(exchange, 200, "{\"clues\":\"" + toPuzzleString(puzzle.getClues())
+                    + "\",\"solution\":\"" + toPuzzleString(puzzle.getSolution())
+                    + "\",\"clueCount\":" + puzzle.getClueCount()
+                    + ",\"difficulty\":\"" + puzzle.getDifficulty()
+                    + "\",\"score\":" + puzzle.getGrade().score()
+                    + ",\"seed\":" + puzzle.getSeed().getAsLong() + "}");
+        }
+    }
+
+    /**
+     * Solves a puzzle, reporting its first solution and whether the solution is unique
+     * @param exchange the request and response
+     * @throws IOException if the request cannot be read or the response cannot be sent
+     */
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        int[] board = readPuzzle(exchange, query);
+        int[] solution = new int[81];
+        int solutionCount = runLimited(() -> createSolver().countSolutions(board, 2, solution));
+
+        if (solutionCount == 0) {
+            throw new RequestException(422, "The puzzle has no solution");
+        }
+
+        if (isTextFormat(query)) {
+            sendText(exchange, 200, toPuzzleString(solution) + "\n" + (solutionCount == 1) + "\n");
+        }
+        else {
+            sendJson(exchange, 200, "{\"solution\":\"" + toPuzzleString(solution) + "\",\"unique\":"
+                    + (solutionCount == 1) + "}");
+        }
+    }
+
+    /**
+     * Counts the solutions of a puzzle up to 2, the same check PuzzleGenerator uses for uniqueness
+     * @param exchange the request and response
+     * @throws IOException if the request cannot be read or the response cannot be sent
+     */
+    private void handleUniqueness(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        int[] board = readPuzzle(exchange, query);
+        int solutionCount = runLimited(() -> createSolver().countSolutions(board, 2));
+
+        if (isTextFormat(query)) {
+            sendText(exchange, 200, solutionCount + "\n" + (solutionCount == 1) + "\n");
+        }
+        else {
+            sendJson(exchange, 200, "{\"solutions\":" + solutionCount + ",\"unique\":" + (solutionCount == 1) + "}");
+        }
+    }
+
+    /**
+     * Sends the metrics recorded by every PuzzleGenerator
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        sendText(exchange, 200, PuzzleGenerator.getMetrics().toText());
+    }
+
+    /**
+     * Runs a CPU-bound task once a permit is available, or rejects it if too many tasks are already pending
+     * @param task the task to run
+     * @return the result of the task
+     * @throws RequestException with status 503 if the backlog is full or the thread is interrupted while waiting
+     */
+    private <T> T runLimited(Callable<T> task) {
+        try {
+            if (pendingTasks.incrementAndGet() > maxPendingTasks) {
+                throw new RequestException(503, "The server is busy, try again later");
+            }
+
+            workPermits.acquire();
+
+            try {
+                return task.call();
+            }
+            finally {
+                workPermits.release();
+            }
+        }
+        catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new RequestException(503, "The request was interrupted");
+        }
+        catch (RuntimeException error) {
+            throw error;
+        }
+        catch (Exception error) {
+            throw new IllegalStateException(error);
+        }
+        finally {
+            pendingTasks.decrementAndGet();
+        }
+    }
+
+    /**
+     * Creates a solver for a single request, since solvers keep their search state between calls
+     * @return the new SudokuSolver
+     */
+    private static SudokuSolver createSolver() {
+        return SolverType.BITBOARD.createSolver();
+    }
+
+    /**
+     * Wraps an endpoint so that only GET and POST requests reach it and any error is sent as a response
+     * @param endpoint the endpoint to wrap
+     * @return the HttpHandler for the endpoint
+     */
+    private static HttpHandler handler(HttpHandler endpoint) {
+        return exchange -> {
+            try {
+                String method = exchange.getRequestMethod();
+
+                if (!method.equals("GET") && !method.equals("POST")) {
+                    exchange.getResponseHeaders().set("Allow", "GET, POST");
+                    throw new RequestException(405, "Only GET and POST are supported");
+                }
+
+                endpoint.handle(exchange);
+            }
+            catch (RequestException error) {
+                sendError(exchange, error.getStatus(), error.getMessage());
+            }
+            catch (RuntimeException error) {
+                // Keep exception details on the server rather than exposing them to clients
+                System.err.println("Failed to handle " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI() + ":");
+                error.printStackTrace();
+                sendError(exchange, 500, "Internal server error");
+            }
+            finally {
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * Reads the puzzle from the puzzle query parameter, or from the request body if there is no such parameter
+     * @param exchange the request
+     * @param query the parsed query parameters
+     * @return the 81 values of the puzzle in row-major order
+     * @throws IOException if the request body cannot be read
+     * @throws RequestException with status 400 if the puzzle is missing or malformed
+     */
+    private static int[] readPuzzle(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String puzzleString = query.get("puzzle");
+
+        if (puzzleString == null) {
+            try (InputStream body = exchange.getRequestBody()) {
+                // A puzzle with some whitespace is far smaller than this, so a longer body is not read in full
+                puzzleString = new String(body.readNBytes(1024), StandardCharsets.US_ASCII);
+            }
+        }
+
+        int[] board = new int[81];
+        int cell = 0;
+
+        for (int index = 0; index < puzzleString.length(); index++) {
+            char character = puzzleString.charAt(index);
+
+            if (Character.isWhitespace(character)) {
+                continue;
+            }
+
+            if (cell == board.length || (character != '.' && (character < '0' || character > '9'))) {
+                throw new RequestException(400, "The puzzle must be 81 characters of 1-9, '.', or '0'");
+            }
+
+            board[cell++] = (character == '.') ? 0 : character - '0';
+        }
+
+        if (cell != board.length) {
+            throw new RequestException(400, "The puzzle must be 81 characters of 1-9, '.', or '0'");
+        }
+
+        return board;
+    }
+
+    /**
+     * Parses the query parameters of a request
+     * @param exchange the request
+     * @return the map of decoded parameter names to values
+     */
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+
+        if (rawQuery == null) {
+            return query;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return query;
+    }
+
+    private static int parseInt(Map<String, String> query, String name, int defaultValue) {
+        if (!query.containsKey(name)) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(query.get(name));
+        }
+        catch (NumberFormatException error) {
+            throw new RequestException(400, name + " must be a 32-bit integer");
+        }
+    }
+
+    private static long parseLong(Map<String, String> query, String name) {
+        try {
+            return Long.parseLong(query.get(name));
+        }
+        catch (NumberFormatException error) {
+            throw new RequestException(400, name + " must be a number");
+        }
+    }
+
+    private static boolean isTextFormat(Map<String, String> query) {
+        return "text".equals(query.get("format"));
+    }
+
+    /**
+     * Converts board values to an 81-character string, where '.' is an empty tile
+     * @param values the 81 values in row-major order
+     * @return the puzzle string
+     */
+    private static String toPuzzleString(int[] values) {
+        char[] characters = new char[values.length];
+
+        for (int cell = 0; cell < values.length; cell++) {
+            characters[cell] = (values[cell] == 0) ? '.' : (char) ('0' + values[cell]);
+        }
+
+        return new String(characters);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        send(exchange, status, "application/json", json);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        send(exchange, status, "text/plain; charset=utf-8", text);
+    }
+
+    /**
+     * Sends an error as a JSON object with a message, adding a Retry-After header when the server is busy
+     * @param exchange the request and response
+     * @param status the HTTP status code
+     * @param message the error message
+     */
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        if (status == 503) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+
+        try {
+            sendJson(exchange, status, "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}");
+        }
+        catch (IOException error) {
+            // The client has gone away, so there is nobody left to tell
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a PuzzleServer from command-line options
+     * @param args the options, each in the form --name=value: port, host, concurrency, and backlog
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (arg.startsWith("--") && separator > 0) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(cores)));
+        int backlog = Integer.parseInt(options.getOrDefault("backlog",
+                String.valueOf(concurrency * DEFAULT_BACKLOG_PER_CORE)));
+        InetSocketAddress address = new InetSocketAddress(options.getOrDefault("host", "127.0.0.1"),
+                Integer.parseInt(options.getOrDefault("port", String.valueOf(DEFAULT_PORT))));
+        PuzzleServer puzzleServer = new PuzzleServer(address, concurrency, backlog);
+
+        puzzleServer.start();
+        System.out.println("Serving puzzles on http://" + address.getHostString() + ":"
+                + puzzleServer.getAddress().getPort() + " (" + concurrency + " workers, backlog " + backlog + ")");
+    }
+
+    /**
+     * An error that is sent to the client with an HTTP status code
+     */
+    private static class RequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
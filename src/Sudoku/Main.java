@@ -1,15 +1,27 @@
 package Sudoku;
 
+import Sudoku.Storage.PuzzleBank;
 import Sudoku.UserInterface.MenuController;
 import Sudoku.UserInterface.SudokuModel;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.nio.file.Path;
+
 public class Main extends Application {
+    private SudokuModel sudokuModel;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         try {
-            SudokuModel sudokuModel = new SudokuModel();
+            sudokuModel = new SudokuModel();
+            String puzzleBankPath = getParameters().getNamed().get("puzzleBank");
+
+            // Serve new games from a pre-generated puzzle bank if one was given with --puzzleBank=<path>
+            if (puzzleBankPath != null) {
+                sudokuModel.setPuzzleBank(PuzzleBank.open(Path.of(puzzleBankPath)));
+            }
+
             MenuController menuController = new MenuController(sudokuModel, primaryStage);
 
             primaryStage.setTitle("Sudoku");
@@ -23,6 +35,17 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Stops the background puzzle generation and releases the puzzle bank when the application exits
+     * @throws Exception if the puzzle bank cannot be closed
+     */
+    @Override
+    public void stop() throws Exception {
+        if (sudokuModel != null) {
+            sudokuModel.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
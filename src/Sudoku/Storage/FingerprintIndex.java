@@ -0,0 +1,240 @@
+package Sudoku.Storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A persistent set of 64-bit puzzle fingerprints (see PuzzleCanonicalizer) for detecting duplicate and isomorphic
+ * puzzles. The fingerprints are held in an open-addressing hash table of longs, so checking a puzzle costs one lookup
+ * without boxing, and each new fingerprint is appended to a file so the set survives restarts.
+ * <p>
+ * File layout: a 16-byte file header (magic number, format version, reserved), followed by one little-endian 8-byte
+ * fingerprint per entry.
+ */
+public class FingerprintIndex implements Closeable {
+    private static final int MAGIC = 0x53444B46;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 8;
+    // 0 marks an empty slot in the table, so the fingerprint 0 is tracked separately
+    private static final long EMPTY = 0;
+
+    private final FileChannel channel;
+    private final ByteBuffer entryBuffer = ByteBuffer.allocateDirect(ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long[] table = new long[1024];
+    private int size;
+    private boolean containsEmpty;
+
+    /**
+     * Constructor: Creates a FingerprintIndex over an open file channel
+     * @param channel the channel of the index file, opened for reading and writing
+     */
+    private FingerprintIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the fingerprint index stored at a path, creating an empty index if the file does not exist
+     * @param path the path of the index file
+     * @return the opened FingerprintIndex
+     * @throws IOException if the file cannot be opened or is not a fingerprint index
+     */
+    public static FingerprintIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            FingerprintIndex index = new FingerprintIndex(channel);
+
+            index.initialize();
+
+            return index;
+        }
+        catch (IOException | RuntimeException error) {
+            channel.close();
+            throw error;
+        }
+    }
+
+    /**
+     * Writes the file header to a new file, or checks the header of an existing file and loads its fingerprints
+     * @throws IOException if the file cannot be read or is not a fingerprint index
+     */
+    private void initialize() throws IOException {
+        ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (channel.size() == 0) {
+            fileHeader.putInt(MAGIC).putInt(VERSION).putLong(0).flip();
+
+            while (fileHeader.hasRemaining()) {
+                channel.write(fileHeader, fileHeader.position());
+            }
+
+            return;
+        }
+
+        while (fileHeader.hasRemaining()) {
+            if (channel.read(fileHeader, fileHeader.position()) < 0) {
+                throw new IOException("Fingerprint index header is truncated");
+            }
+        }
+
+        fileHeader.flip();
+
+        if (fileHeader.getInt() != MAGIC || fileHeader.getInt() != VERSION) {
+            throw new IOException("File is not a version " + VERSION + " fingerprint index");
+        }
+
+        // Ignore a partially written entry at the end of the file
+        long numEntries = (channel.size() - FILE_HEADER_SIZE) / ENTRY_SIZE;
+        long endPosition = FILE_HEADER_SIZE + (numEntries * ENTRY_SIZE);
+        ByteBuffer entries = ByteBuffer.allocateDirect(ENTRY_SIZE * 8192).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (long position = FILE_HEADER_SIZE; position < endPosition; ) {
+            entries.clear().limit((int) Math.min(entries.capacity(), endPosition - position));
+
+            while (entries.hasRemaining()) {
+                if (channel.read(entries, position + entries.position()) < 0) {
+                    throw new IOException("Fingerprint index is truncated");
+                }
+            }
+
+            position += entries.position();
+            entries.flip();
+
+            while (entries.hasRemaining()) {
+                insert(entries.getLong());
+            }
+        }
+    }
+
+    /**
+     * Checks whether a fingerprint is in the index
+     * @param fingerprint the fingerprint to look up
+     * @return true if the fingerprint has been added, false otherwise
+     */
+    public synchronized boolean contains(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            return containsEmpty;
+        }
+
+        for (int slot = slotFor(fingerprint); table[slot] != EMPTY; slot = (slot + 1) & (table.length - 1)) {
+            if (table[slot] == fingerprint) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds a fingerprint to the index and appends it to the file if it is new
+     * @param fingerprint the fingerprint to add
+     * @return true if the fingerprint was new, false if it was already in the index
+     * @throws IOException if the fingerprint cannot be written
+     */
+    public synchronized boolean add(long fingerprint) throws IOException {
+        if (!insert(fingerprint)) {
+            return false;
+        }
+
+        long position = FILE_HEADER_SIZE + ((long) (size - 1) * ENTRY_SIZE);
+
+        entryBuffer.clear();
+        entryBuffer.putLong(fingerprint).flip();
+
+        while (entryBuffer.hasRemaining()) {
+            channel.write(entryBuffer, position + entryBuffer.position());
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of fingerprints in the index
+     * @return the number of fingerprints
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Closes the index file
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Adds a fingerprint to the hash table, doubling the table when it becomes half full
+     * @param fingerprint the fingerprint to add
+     * @return true if the fingerprint was new, false if it was already in the table
+     */
+    private boolean insert(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+
+            containsEmpty = true;
+            size++;
+
+            return true;
+        }
+
+        int slot = slotFor(fingerprint);
+
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return false;
+            }
+
+            slot = (slot + 1) & (table.length - 1);
+        }
+
+        table[slot] = fingerprint;
+        size++;
+
+        if (size * 2 > table.length) {
+            resize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Doubles the size of the hash table and reinserts every fingerprint
+     */
+    private void resize() {
+        long[] oldTable = table;
+        table = new long[oldTable.length * 2];
+
+        for (long fingerprint : oldTable) {
+            if (fingerprint != EMPTY) {
+                int slot = slotFor(fingerprint);
+
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & (table.length - 1);
+                }
+
+                table[slot] = fingerprint;
+            }
+        }
+    }
+
+    /**
+     * Gets the starting slot of a fingerprint. Fingerprints are already well mixed, so the low bits are used directly.
+     * @param fingerprint the fingerprint
+     * @return the slot index
+     */
+    private int slotFor(long fingerprint) {
+        return (int) fingerprint & (table.length - 1);
+    }
+}
@@ -0,0 +1,465 @@
+package Sudoku.Storage;
+
+import Sudoku.GameLogic.Difficulty;
+import Sudoku.GameLogic.Puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A persistent, append-only store of graded puzzles. Puzzles are saved as fixed-size records in a single data file,
+ * which is read through memory-mapped segments, so looking up a record is just an offset calculation. An index of
+ * record numbers by difficulty and clue count is built from the record headers when the bank is opened, allowing a
+ * random puzzle to be drawn from any bucket without scanning the file.
+ * <p>
+ * File layout: a 16-byte file header (magic number, format version, record size, reserved), followed by records of
+ * RECORD_SIZE bytes. Each record starts with an 8-byte header (clue count, difficulty, reserved) used to build the
+ * index, followed by the puzzle packed in the PuzzleCodec format.
+ */
+public class PuzzleBank implements Closeable {
+    private static final int MAGIC = 0x53444B42;
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = RECORD_HEADER_SIZE + PuzzleCodec.ENCODED_SIZE;
+    // Each mapped segment holds a whole number of records and stays well below the 2 GB mapping limit
+    private static final int RECORDS_PER_SEGMENT = (1 << 30) / RECORD_SIZE;
+    private static final long SEGMENT_SIZE = (long) RECORDS_PER_SEGMENT * RECORD_SIZE;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final FileChannel channel;
+    // Record numbers for each difficulty (first index) and clue count (second index)
+    private final IndexBucket[][] index = new IndexBucket[DIFFICULTIES.length][82];
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private volatile int recordCount;
+
+    /**
+     * Constructor: Creates a PuzzleBank over an open file channel
+     * @param channel the channel of the data file, opened for reading and writing
+     */
+    private PuzzleBank(FileChannel channel) {
+        this.channel = channel;
+
+        for (IndexBucket[] difficultyBuckets : index) {
+            for (int clueCount = 0; clueCount < difficultyBuckets.length; clueCount++) {
+                difficultyBuckets[clueCount] = new IndexBucket();
+            }
+        }
+    }
+
+    /**
+     * Opens the puzzle bank stored at a path, creating an empty bank if the file does not exist
+     * @param path the path of the data file
+     * @return the opened PuzzleBank
+     * @throws IOException if the file cannot be opened or is not a puzzle bank
+     */
+    public static PuzzleBank open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            PuzzleBank bank = new PuzzleBank(channel);
+
+            bank.initialize();
+
+            return bank;
+        }
+        catch (IOException | RuntimeException error) {
+            channel.close();
+            throw error;
+        }
+    }
+
+    /**
+     * Writes the file header to a new file, or checks the header of an existing file and indexes its records
+     * @throws IOException if the file cannot be read or is not a puzzle bank
+     */
+    private void initialize() throws IOException {
+        ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (channel.size() == 0) {
+            fileHeader.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+
+            while (fileHeader.hasRemaining()) {
+                channel.write(fileHeader, fileHeader.position());
+            }
+
+            return;
+        }
+
+        while (fileHeader.hasRemaining()) {
+            if (channel.read(fileHeader, fileHeader.position()) < 0) {
+                throw new IOException("Puzzle bank header is truncated");
+            }
+        }
+
+        fileHeader.flip();
+
+        if (fileHeader.getInt() != MAGIC || fileHeader.getInt() != VERSION || fileHeader.getInt() != RECORD_SIZE) {
+            throw new IOException("File is not a version " + VERSION + " puzzle bank");
+        }
+
+        // Ignore a partially written record at the end of the file
+        recordCount = (int) ((channel.size() - FILE_HEADER_SIZE) / RECORD_SIZE);
+
+        for (int record = 0; record < recordCount; record++) {
+            ByteBuffer segment = segmentFor(record);
+            int offset = recordOffset(record);
+
+            index[segment.get(offset + 1)][segment.get(offset)].add(record);
+        }
+    }
+
+    /**
+     * Appends a graded puzzle to the end of the bank
+     * @param puzzle the puzzle to store
+     * @throws IOException if the record cannot be written
+     */
+    public void append(Puzzle puzzle) throws IOException {
+        appendAll(List.of(puzzle));
+    }
+
+    /**
+     * Appends a collection of graded puzzles to the end of the bank with a single write
+     * @param puzzles the puzzles to store
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void appendAll(Collection<Puzzle> puzzles) throws IOException {
+        ByteBuffer records = ByteBuffer.allocateDirect(puzzles.size() * RECORD_SIZE);
+
+        for (Puzzle puzzle : puzzles) {
+            writeRecord(records, puzzle);
+        }
+
+        records.flip();
+
+        long position = FILE_HEADER_SIZE + ((long) recordCount * RECORD_SIZE);
+
+        while (records.hasRemaining()) {
+            position += channel.write(records, position);
+        }
+
+        // Only index the new records once they have been written
+        for (Puzzle puzzle : puzzles) {
+            index[puzzle.getDifficulty().ordinal()][puzzle.getClueCount()].add(recordCount++);
+        }
+    }
+
+    /**
+     * Writes a puzzle's record header and encoded puzzle to a buffer
+     * @param buffer the buffer to write to
+     * @param puzzle the puzzle to write
+     */
+    private static void writeRecord(ByteBuffer buffer, Puzzle puzzle) {
+        buffer.put((byte) puzzle.getClueCount());
+        buffer.put((byte) puzzle.getDifficulty().ordinal());
+        buffer.position(buffer.position() + (RECORD_HEADER_SIZE - 2));
+
+        PuzzleCodec.encode(puzzle, buffer);
+    }
+
+    /**
+     * Reads the puzzle stored in a record
+     * @param record the record number, in the order the puzzles were appended
+     * @return the stored Puzzle
+     */
+    public Puzzle getPuzzle(int record) {
+        checkRecord(record);
+
+        return PuzzleCodec.decode(segmentFor(record), recordOffset(record) + RECORD_HEADER_SIZE);
+    }
+
+    /**
+     * Reads a single clue straight from the mapped file, without decoding the rest of the record
+     * @param record the record number
+     * @param row the row coordinate of the tile
+     * @param column the column coordinate of the tile
+     * @return the clue value, or 0 if the tile is empty
+     */
+    public int getClue(int record, int row, int column) {
+        checkRecord(record);
+
+        return PuzzleCodec.getClue(segmentFor(record), recordOffset(record) + RECORD_HEADER_SIZE, (row * 9) + column);
+    }
+
+    /**
+     * Reads a single solution value straight from the mapped file, without decoding the rest of the record
+     * @param record the record number
+     * @param row the row coordinate of the tile
+     * @param column the column coordinate of the tile
+     * @return the solution value
+     */
+    public int getSolutionValue(int record, int row, int column) {
+        checkRecord(record);
+
+        return PuzzleCodec.getSolutionValue(segmentFor(record), recordOffset(record) + RECORD_HEADER_SIZE,
+                (row * 9) + column);
+    }
+
+    /**
+     * Checks whether a number of clues has a bucket in the index
+     * @param clueCount the number of clues
+     * @return true if the clue count is in the range 0-81, false otherwise
+     */
+    private static boolean isClueCount(int clueCount) {
+        return clueCount >= 0 && clueCount <= 81;
+    }
+
+    /**
+     * Checks that a record number refers to a record in the bank
+     * @param record the record number
+     */
+    private void checkRecord(int record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " is not in the puzzle bank");
+        }
+    }
+
+    /**
+     * Draws a random puzzle with a certain difficulty and number of clues
+     * @param difficulty the difficulty of the puzzle
+     * @param clueCount the number of clues in the puzzle
+     * @return the puzzle, or null if the bank has no puzzles in that bucket (including when the clue count is outside
+     * the range 0-81)
+     */
+    public Puzzle drawPuzzle(Difficulty difficulty, int clueCount) {
+        if (!isClueCount(clueCount)) {
+            return null;
+        }
+
+        int record = index[difficulty.ordinal()][clueCount].draw();
+
+        return (record == -1) ? null : getPuzzle(record);
+    }
+
+    /**
+     * Draws a random puzzle with a certain difficulty and any number of clues
+     * @param difficulty the difficulty of the puzzle
+     * @return the puzzle, or null if the bank has no puzzles with that difficulty
+     */
+    public Puzzle drawPuzzle(Difficulty difficulty) {
+        return drawPuzzle(difficulty.ordinal(), difficulty.ordinal(), 0);
+    }
+
+    /**
+     * Draws a random puzzle of any difficulty with at least a certain number of clues
+     * @param minimumClues the minimum number of clues in the puzzle, where a negative minimum matches every puzzle
+     * @return the puzzle, or null if the bank has no puzzles with enough clues
+     */
+    public Puzzle drawPuzzle(int minimumClues) {
+        return drawPuzzle(0, DIFFICULTIES.length - 1, Math.max(minimumClues, 0));
+    }
+
+    /**
+     * Draws a puzzle uniformly from every bucket within a range of difficulties and with at least a certain number
+     * of clues
+     * @param firstDifficulty the ordinal of the easiest difficulty to include
+     * @param lastDifficulty the ordinal of the hardest difficulty to include
+     * @param minimumClues the minimum number of clues in the puzzle
+     * @return the puzzle, or null if there are no matching puzzles
+     */
+    private Puzzle drawPuzzle(int firstDifficulty, int lastDifficulty, int minimumClues) {
+        // Record the size of each matching bucket once, since appends can grow the buckets during the draw
+        int bucketsPerDifficulty = Math.max(82 - minimumClues, 0);
+        int[] bucketSizes = new int[(lastDifficulty - firstDifficulty + 1) * bucketsPerDifficulty];
+        int matchingCount = 0;
+
+        for (int bucket = 0; bucket < bucketSizes.length; bucket++) {
+            bucketSizes[bucket] = getBucket(firstDifficulty, minimumClues, bucketsPerDifficulty, bucket).size();
+            matchingCount += bucketSizes[bucket];
+        }
+
+        if (matchingCount == 0) {
+            return null;
+        }
+
+        // Pick a position among all matching records, then find the bucket it falls in using the recorded sizes, so
+        // that the position always lands inside a bucket even if puzzles are appended in the meantime
+        int position = ThreadLocalRandom.current().nextInt(matchingCount);
+        int bucket = 0;
+
+        while (position >= bucketSizes[bucket]) {
+            position -= bucketSizes[bucket];
+            bucket++;
+        }
+
+        return getPuzzle(getBucket(firstDifficulty, minimumClues, bucketsPerDifficulty, bucket).get(position));
+    }
+
+    /**
+     * Gets one of the buckets in a range of difficulties and clue counts, numbered by difficulty and then clue count
+     * @param firstDifficulty the ordinal of the easiest difficulty in the range
+     * @param minimumClues the smallest clue count in the range
+     * @param bucketsPerDifficulty the number of clue counts in the range
+     * @param bucket the number of the bucket within the range
+     * @return the bucket
+     */
+    private IndexBucket getBucket(int firstDifficulty, int minimumClues, int bucketsPerDifficulty, int bucket) {
+        return index[firstDifficulty + (bucket / bucketsPerDifficulty)][minimumClues + (bucket % bucketsPerDifficulty)];
+    }
+
+    /**
+     * Gets the number of puzzles with a certain difficulty and number of clues
+     * @param difficulty the difficulty of the puzzles
+     * @param clueCount the number of clues in the puzzles
+     * @return the number of matching puzzles, which is 0 if the clue count is outside the range 0-81
+     */
+    public int getCount(Difficulty difficulty, int clueCount) {
+        if (!isClueCount(clueCount)) {
+            return 0;
+        }
+
+        return index[difficulty.ordinal()][clueCount].size();
+    }
+
+    /**
+     * Gets the number of puzzles with a certain difficulty
+     * @param difficulty the difficulty of the puzzles
+     * @return the number of matching puzzles
+     */
+    public int getCount(Difficulty difficulty) {
+        int count = 0;
+
+        for (IndexBucket bucket : index[difficulty.ordinal()]) {
+            count += bucket.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the total number of puzzles in the bank
+     * @return the number of records
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Closes the data file. Puzzles can no longer be appended or drawn afterwards.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    /**
+     * Gets the offset of a record within its mapped segment
+     * @param record the record number
+     * @return the byte offset of the record
+     */
+    private static int recordOffset(int record) {
+        return (record % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+    }
+
+    /**
+     * Gets the mapped segment containing a record, mapping or remapping the segment if it does not cover the record
+     * yet (which happens after records are appended)
+     * @param record the record number
+     * @return the read-only buffer of the segment
+     */
+    private ByteBuffer segmentFor(int record) {
+        int segmentIndex = record / RECORDS_PER_SEGMENT;
+        MappedByteBuffer[] currentSegments = segments;
+
+        if (segmentIndex < currentSegments.length && currentSegments[segmentIndex] != null
+                && currentSegments[segmentIndex].capacity() >= recordOffset(record) + RECORD_SIZE) {
+            return currentSegments[segmentIndex];
+        }
+
+        return mapSegment(segmentIndex);
+    }
+
+    /**
+     * Maps a segment of the data file covering every record written so far within that segment
+     * @param segmentIndex the index of the segment
+     * @return the read-only buffer of the segment
+     */
+    private synchronized MappedByteBuffer mapSegment(int segmentIndex) {
+        long segmentStart = FILE_HEADER_SIZE + (segmentIndex * SEGMENT_SIZE);
+        long recordsEnd = FILE_HEADER_SIZE + ((long) recordCount * RECORD_SIZE);
+        MappedByteBuffer[] newSegments = segments;
+
+        if (segmentIndex >= newSegments.length) {
+            newSegments = Arrays.copyOf(newSegments, segmentIndex + 1);
+        }
+        else {
+            newSegments = newSegments.clone();
+        }
+
+        try {
+            newSegments[segmentIndex] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+                    Math.min(SEGMENT_SIZE, recordsEnd - segmentStart));
+        }
+        catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+
+        segments = newSegments;
+
+        return newSegments[segmentIndex];
+    }
+
+    /**
+     * A growable list of record numbers for one difficulty and clue count. Records are only added while holding the
+     * bucket's lock, but reads do not lock, since the size is always published after the record it counts.
+     */
+    private static class IndexBucket {
+        private volatile int[] records = new int[16];
+        private volatile int size;
+
+        /**
+         * Adds a record number to the bucket
+         * @param record the record number
+         */
+        private synchronized void add(int record) {
+            int[] currentRecords = records;
+
+            if (size == currentRecords.length) {
+                currentRecords = Arrays.copyOf(currentRecords, size * 2);
+            }
+
+            currentRecords[size] = record;
+            records = currentRecords;
+            size = size + 1;
+        }
+
+        /**
+         * Gets the record number at a position in the bucket
+         * @param position the position in the bucket
+         * @return the record number, or -1 if the position is outside the bucket
+         */
+        private int get(int position) {
+            int currentSize = size;
+
+            return (position < currentSize) ? records[position] : -1;
+        }
+
+        /**
+         * Draws a random record number from the bucket
+         * @return the record number, or -1 if the bucket is empty
+         */
+        private int draw() {
+            int currentSize = size;
+
+            return (currentSize == 0) ? -1 : records[ThreadLocalRandom.current().nextInt(currentSize)];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
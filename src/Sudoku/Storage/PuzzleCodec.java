@@ -0,0 +1,187 @@
+package Sudoku.Storage;
+
+import Sudoku.GameLogic.DifficultyGrade;
+import Sudoku.GameLogic.Puzzle;
+import Sudoku.GameLogic.SolvingTechnique;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Packs puzzles into fixed-size binary records. The solution is stored at 4 bits per cell, and a separate bit per
+ * cell marks whether the cell is given as a clue, so the clues never need to be stored on their own. Each record is
+ * ENCODED_SIZE bytes:
+ * <ul>
+ *     <li>Bytes 0-40: solution values, two cells per byte with the even cell in the low nibble</li>
+ *     <li>Bytes 41-51: given flags, one bit per cell with cell 0 in the lowest bit of byte 41</li>
+ *     <li>Bytes 52-53: little-endian technique mask from the puzzle's grade, with the solved flag in bit 15</li>
+ *     <li>Bytes 54-55: little-endian score from the puzzle's grade</li>
+ * </ul>
+ * All reads and writes use single-byte accesses, so records do not depend on the byte order of the buffer.
+ */
+public final class PuzzleCodec {
+    public static final int ENCODED_SIZE = 56;
+    private static final int SOLUTION_OFFSET = 0;
+    private static final int GIVEN_OFFSET = 41;
+    private static final int TECHNIQUES_OFFSET = 52;
+    private static final int SCORE_OFFSET = 54;
+    private static final int SOLVED_FLAG = 1 << 15;
+    private static final SolvingTechnique[] TECHNIQUES = SolvingTechnique.values();
+
+    private PuzzleCodec() {
+    }
+
+    /**
+     * Encodes a puzzle at the buffer's position and advances the position past the record
+     * @param puzzle the puzzle to encode
+     * @param buffer the buffer to write to, with at least ENCODED_SIZE bytes remaining
+     */
+    public static void encode(Puzzle puzzle, ByteBuffer buffer) {
+        encode(puzzle, buffer, buffer.position());
+        buffer.position(buffer.position() + ENCODED_SIZE);
+    }
+
+    /**
+     * Encodes a puzzle at an absolute offset in a buffer without changing the buffer's position
+     * @param puzzle the puzzle to encode
+     * @param buffer the buffer to write to
+     * @param offset the offset of the record in the buffer
+     */
+    public static void encode(Puzzle puzzle, ByteBuffer buffer, int offset) {
+        DifficultyGrade grade = puzzle.getGrade();
+        int[] clues = puzzle.getClues();
+        int[] solution = puzzle.getSolution();
+        int techniqueMask = grade.solved() ? SOLVED_FLAG : 0;
+        int score = Math.min(grade.score(), 0xFFFF);
+
+        for (int cell = 0; cell < 81; cell += 2) {
+            int high = (cell + 1 < 81) ? solution[cell + 1] : 0;
+
+            buffer.put(offset + SOLUTION_OFFSET + (cell / 2), (byte) (solution[cell] | (high << 4)));
+        }
+
+        for (int flagByte = 0; flagByte < 11; flagByte++) {
+            int flags = 0;
+
+            for (int bit = 0; bit < 8 && (flagByte * 8) + bit < 81; bit++) {
+                if (clues[(flagByte * 8) + bit] != 0) {
+                    flags |= 1 << bit;
+                }
+            }
+
+            buffer.put(offset + GIVEN_OFFSET + flagByte, (byte) flags);
+        }
+
+        for (SolvingTechnique technique : grade.techniques()) {
+            techniqueMask |= 1 << technique.ordinal();
+        }
+
+        putShort(buffer, offset + TECHNIQUES_OFFSET, techniqueMask);
+        putShort(buffer, offset + SCORE_OFFSET, score);
+    }
+
+    /**
+     * Decodes the puzzle at the buffer's position and advances the position past the record
+     * @param buffer the buffer to read from, with at least ENCODED_SIZE bytes remaining
+     * @return the decoded Puzzle
+     */
+    public static Puzzle decode(ByteBuffer buffer) {
+        Puzzle puzzle = decode(buffer, buffer.position());
+        buffer.position(buffer.position() + ENCODED_SIZE);
+
+        return puzzle;
+    }
+
+    /**
+     * Decodes the puzzle at an absolute offset in a buffer without changing the buffer's position
+     * @param buffer the buffer to read from
+     * @param offset the offset of the record in the buffer
+     * @return the decoded Puzzle
+     */
+    public static Puzzle decode(ByteBuffer buffer, int offset) {
+        int[] clues = new int[81];
+        int[] solution = new int[81];
+        Set<SolvingTechnique> techniques = EnumSet.noneOf(SolvingTechnique.class);
+        int techniqueMask = getShort(buffer, offset + TECHNIQUES_OFFSET);
+
+        for (int cell = 0; cell < 81; cell++) {
+            solution[cell] = getSolutionValue(buffer, offset, cell);
+
+            if (isGiven(buffer, offset, cell)) {
+                clues[cell] = solution[cell];
+            }
+        }
+
+        for (SolvingTechnique technique : TECHNIQUES) {
+            if ((techniqueMask & (1 << technique.ordinal())) != 0) {
+                techniques.add(technique);
+            }
+        }
+
+        DifficultyGrade grade = new DifficultyGrade(techniques, getShort(buffer, offset + SCORE_OFFSET),
+                (techniqueMask & SOLVED_FLAG) != 0);
+
+        return new Puzzle(clues, solution, grade);
+    }
+
+    /**
+     * Reads the solution value of a single cell from an encoded record
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @param cell the index of the cell in row-major order
+     * @return the solution value of the cell
+     */
+    public static int getSolutionValue(ByteBuffer buffer, int offset, int cell) {
+        int packed = buffer.get(offset + SOLUTION_OFFSET + (cell / 2));
+
+        return ((cell % 2) == 0) ? (packed & 0xF) : ((packed >> 4) & 0xF);
+    }
+
+    /**
+     * Reads whether a single cell is given as a clue from an encoded record
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @param cell the index of the cell in row-major order
+     * @return true if the cell is a clue, false if the player has to fill it
+     */
+    public static boolean isGiven(ByteBuffer buffer, int offset, int cell) {
+        return (buffer.get(offset + GIVEN_OFFSET + (cell / 8)) & (1 << (cell % 8))) != 0;
+    }
+
+    /**
+     * Reads the clue of a single cell from an encoded record
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @param cell the index of the cell in row-major order
+     * @return the clue value of the cell, or 0 if the cell is empty
+     */
+    public static int getClue(ByteBuffer buffer, int offset, int cell) {
+        return isGiven(buffer, offset, cell) ? getSolutionValue(buffer, offset, cell) : 0;
+    }
+
+    /**
+     * Counts the clues of an encoded record from its given flags
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @return the number of clues
+     */
+    public static int getClueCount(ByteBuffer buffer, int offset) {
+        int clueCount = 0;
+
+        for (int flagByte = 0; flagByte < 11; flagByte++) {
+            clueCount += Integer.bitCount(buffer.get(offset + GIVEN_OFFSET + flagByte) & 0xFF);
+        }
+
+        return clueCount;
+    }
+
+    private static void putShort(ByteBuffer buffer, int index, int value) {
+        buffer.put(index, (byte) value);
+        buffer.put(index + 1, (byte) (value >> 8));
+    }
+
+    private static int getShort(ByteBuffer buffer, int index) {
+        return (buffer.get(index) & 0xFF) | ((buffer.get(index + 1) & 0xFF) << 8);
+    }
+}
@@ -0,0 +1,91 @@
+package Sudoku.Storage;
+
+import Sudoku.GameLogic.Puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads a stream of puzzles written by a PuzzleWriter from a channel. The channel is read in large blocks into a
+ * direct buffer, and each puzzle is decoded straight from that buffer.
+ */
+public class PuzzleReader implements Closeable {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PuzzleWriter.BUFFER_SIZE);
+    private boolean endOfChannel;
+    private long puzzlesRead;
+
+    /**
+     * Constructor: Creates a PuzzleReader and checks the stream header
+     * @param channel the channel to read puzzles from
+     * @throws IOException if the header cannot be read or does not match the PuzzleCodec format
+     */
+    public PuzzleReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+
+        // Start with an empty buffer so that the first fill reads from the channel
+        buffer.limit(0);
+
+        if (!fill(PuzzleWriter.HEADER_SIZE)) {
+            throw new IOException("Puzzle stream header is truncated");
+        }
+
+        if (buffer.getInt() != PuzzleWriter.MAGIC || buffer.getInt() != PuzzleCodec.ENCODED_SIZE) {
+            throw new IOException("Channel does not contain a puzzle stream");
+        }
+    }
+
+    /**
+     * Reads and decodes the next puzzle in the stream
+     * @return the next Puzzle, or null if the end of the stream has been reached
+     * @throws IOException if the read fails or the stream ends partway through a record
+     */
+    public Puzzle read() throws IOException {
+        if (!fill(PuzzleCodec.ENCODED_SIZE)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("Puzzle stream ends partway through a record");
+            }
+
+            return null;
+        }
+
+        puzzlesRead++;
+
+        return PuzzleCodec.decode(buffer);
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least a certain number of bytes or the channel ends
+     * @param numBytes the number of bytes needed
+     * @return true if the buffer holds enough bytes, false if the channel ended first
+     * @throws IOException if the read fails
+     */
+    private boolean fill(int numBytes) throws IOException {
+        if (buffer.remaining() >= numBytes) {
+            return true;
+        }
+
+        buffer.compact();
+
+        while (buffer.position() < numBytes && !endOfChannel) {
+            if (channel.read(buffer) < 0) {
+                endOfChannel = true;
+            }
+        }
+
+        buffer.flip();
+
+        return buffer.remaining() >= numBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public long getPuzzlesRead() {
+        return puzzlesRead;
+    }
+}
@@ -0,0 +1,82 @@
+package Sudoku.Storage;
+
+import Sudoku.GameLogic.Puzzle;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a stream of puzzles to a channel in the PuzzleCodec format. Records are encoded into a direct buffer and
+ * only written to the channel when the buffer is full, when the writer is flushed, or when it is closed. The stream
+ * starts with an 8-byte header holding a magic number and the record size.
+ */
+public class PuzzleWriter implements Closeable, Flushable {
+    static final int MAGIC = 0x53444B50;
+    static final int HEADER_SIZE = 8;
+    static final int BUFFER_SIZE = 1024 * PuzzleCodec.ENCODED_SIZE;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long puzzlesWritten;
+
+    /**
+     * Constructor: Creates a PuzzleWriter and writes the stream header to its buffer
+     * @param channel the channel to write puzzles to
+     */
+    public PuzzleWriter(WritableByteChannel channel) {
+        this.channel = channel;
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(PuzzleCodec.ENCODED_SIZE);
+    }
+
+    /**
+     * Encodes a puzzle and adds it to the stream
+     * @param puzzle the puzzle to write
+     * @throws IOException if the buffer had to be written to the channel and the write failed
+     */
+    public void write(Puzzle puzzle) throws IOException {
+        if (buffer.remaining() < PuzzleCodec.ENCODED_SIZE) {
+            flush();
+        }
+
+        PuzzleCodec.encode(puzzle, buffer);
+        puzzlesWritten++;
+    }
+
+    /**
+     * Writes every buffered record to the channel
+     * @throws IOException if the write fails
+     */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffered records and closes the channel
+     * @throws IOException if the write fails or the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    public long getPuzzlesWritten() {
+        return puzzlesWritten;
+    }
+}
@@ -1,13 +1,34 @@
 package Sudoku.Testing;
 
+import Sudoku.Diagnostics.GenerationMetrics;
+import Sudoku.Diagnostics.Histogram;
+import Sudoku.GameLogic.Difficulty;
+import Sudoku.GameLogic.DifficultyGrader;
+import Sudoku.GameLogic.Puzzle;
+import Sudoku.GameLogic.PuzzleCanonicalizer;
 import Sudoku.GameLogic.PuzzleGenerator;
+import Sudoku.GameLogic.SolverType;
+import Sudoku.GameLogic.SudokuBoard;
+import Sudoku.GameLogic.SudokuSolver;
 import Sudoku.GameLogic.SudokuTile;
+import Sudoku.Storage.FingerprintIndex;
+import Sudoku.Storage.PuzzleBank;
+import Sudoku.Storage.PuzzleReader;
+import Sudoku.Storage.PuzzleWriter;
 import Sudoku.UserInterface.Coordinates;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 public class Tests {
@@ -38,17 +59,17 @@ public class Tests {
         };
 
         // Set the candidates for the invalidated tile to the random candidate
-        tileToInvalidate.setCandidates(Integer.toString(candidate));
+        tileToInvalidate.setCandidates(SudokuTile.candidateBit(candidate));
     }
 
     /**
-     * Prints the current grid state to the console
+     * Prints the current grid state of a board to the console
+     * @param board the SudokuBoard to print
      */
-    public static void printGrid() {
-        SudokuTile[][] tileGrid = SudokuTile.getTileGrid();
+    public static void printGrid(SudokuBoard board) {
         int rowIndex = 1;
 
-        for (List<SudokuTile> row : SudokuTile.getRows()) {
+        for (List<SudokuTile> row : board.getRows()) {
             int columnIndex = 1;
             for (SudokuTile tile : row) {
                 // Print "*" if the tile's value is null
@@ -84,7 +105,8 @@ public class Tests {
     }
 
     /**
-     * Generates a certain number of Sudoku grids and reports back the minimum, maximum, and average runtimes
+     * Generates a certain number of Sudoku grids and reports back the minimum, maximum, and average runtimes, along
+     * with the seed of the slowest grid so that it can be replayed and profiled
      * @param numGrids the number of Sudoku grids to generate
      */
     public void generateGrids(int numGrids, int minimumClues) {
@@ -93,15 +115,14 @@ public class Tests {
         long minimum;
         long maximum;
         double average;
+        long slowestTime = -1;
+        long slowestSeed = 0;
 
         for (int i = 0; i < numGrids; i++) {
             long startTime;
             long endTime;
             long runtime;
 
-            // Empty the grid
-            emptyTileGrid();
-
             // Record start time
             startTime = System.nanoTime();
 
@@ -116,6 +137,12 @@ public class Tests {
 
             // Add the runtime to the ArrayList of generation times
             generationTimes.add(runtime);
+
+            // Record the seed of the slowest grid so far
+            if (runtime > slowestTime) {
+                slowestTime = runtime;
+                slowestSeed = puzzle.getSeed();
+            }
         }
 
         // Calculate statistics
@@ -135,54 +162,371 @@ public class Tests {
         System.out.println("- Minimum time: " + twoPlaces.format(minimum / 1000000.0) + " ms");
         System.out.println("- Maximum time: " + twoPlaces.format(maximum / 1000000.0) + " ms");
         System.out.println("- Average time: " + twoPlaces.format(average / 1000000.0) + " ms");
+        System.out.println("- Slowest seed: " + slowestSeed + " (replay with new PuzzleGenerator(" + minimumClues
+                + ", " + slowestSeed + "L))");
     }
 
     /**
-     * Removes all values in the tileGrid, setting them to null
+     * Generates a batch of Sudoku grids in parallel and reports back the total runtime and throughput
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @param parallelism the number of worker threads to generate grids with
      */
-    private void emptyTileGrid() {
-        SudokuTile[][] tileGrid = SudokuTile.getTileGrid();
+    public void generateBatchGrids(int numGrids, int minimumClues, int parallelism) {
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+        long startTime;
+        long runtime;
 
-        // Remove all values
-        for (SudokuTile[] column : tileGrid) {
-            for (SudokuTile tile : column) {
-                puzzleGenerator.setTileValue(tile.getCoordinates(), 0);
+        startTime = System.nanoTime();
+
+        PuzzleGenerator.generateBatch(numGrids, minimumClues, parallelism);
+
+        runtime = System.nanoTime() - startTime;
+
+        System.out.println("STATISTICS FOR BATCH GENERATION OF " + numGrids + " GRIDS ON " + parallelism
+                + " THREADS:");
+        System.out.println("------------------------------------------------------------");
+        System.out.println("- Total time: " + twoPlaces.format(runtime / 1000000.0) + " ms");
+        System.out.println("- Throughput: " + twoPlaces.format(numGrids / (runtime / 1000000000.0))
+                + " grids/s");
+    }
+
+    /**
+     * Generates a certain number of puzzles and times each solving engine's uniqueness check on the same boards,
+     * reporting the minimum, maximum, and average runtimes for each engine, along with any board where the engines
+     * disagree on the number of solutions
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     */
+    public void compareSolvers(int numGrids, int minimumClues) {
+        List<int[]> boards = new ArrayList<>(numGrids * 2);
+        DecimalFormat threePlaces = new DecimalFormat("0.000");
+        Random generator = new Random();
+
+        // Collect each puzzle along with a copy missing one more clue (which usually has multiple solutions)
+        for (int i = 0; i < numGrids; i++) {
+            PuzzleGenerator puzzle = new PuzzleGenerator(minimumClues);
+            int[] board = puzzle.getBoard().tileGridToArray();
+            int[] sparserBoard = board.clone();
+            int cell;
+
+            do {
+                cell = generator.nextInt(81);
+            } while (sparserBoard[cell] == 0);
+
+            sparserBoard[cell] = 0;
+
+            boards.add(board);
+            boards.add(sparserBoard);
+        }
+
+        Map<SolverType, int[]> solutionCounts = new EnumMap<>(SolverType.class);
+
+        System.out.println("SOLVER COMPARISON FOR " + boards.size() + " BOARDS:");
+        System.out.println("------------------------------------------------------------");
+
+        for (SolverType solverType : SolverType.values()) {
+            SudokuSolver solver = solverType.createSolver();
+            ArrayList<Long> solveTimes = new ArrayList<>(boards.size());
+            int[] counts = new int[boards.size()];
+            long sum = 0;
+
+            for (int i = 0; i < boards.size(); i++) {
+                long startTime = System.nanoTime();
+
+                counts[i] = solver.countSolutions(boards.get(i), 2);
+
+                long runtime = System.nanoTime() - startTime;
+
+                solveTimes.add(runtime);
+                sum += runtime;
             }
+
+            System.out.println(solverType + ":");
+            System.out.println("- Minimum time: " + threePlaces.format(Collections.min(solveTimes) / 1000000.0)
+                    + " ms");
+            System.out.println("- Maximum time: " + threePlaces.format(Collections.max(solveTimes) / 1000000.0)
+                    + " ms");
+            System.out.println("- Average time: " + threePlaces.format(((double) sum / solveTimes.size()) / 1000000.0)
+                    + " ms");
+
+            solutionCounts.put(solverType, counts);
+        }
+
+        // Check every engine against the first, since they should find the same number of solutions for each board
+        SolverType referenceType = SolverType.values()[0];
+        int[] referenceCounts = solutionCounts.get(referenceType);
+        int numMismatches = 0;
+
+        for (SolverType solverType : SolverType.values()) {
+            int[] counts = solutionCounts.get(solverType);
+
+            for (int i = 0; i < boards.size(); i++) {
+                if (counts[i] != referenceCounts[i]) {
+                    numMismatches++;
+                    System.out.println("- MISMATCH on board " + i + ": " + referenceType + " found "
+                            + referenceCounts[i] + " solutions, " + solverType + " found " + counts[i]);
+                }
+            }
+        }
+
+        System.out.println("- Solution count mismatches: " + numMismatches);
+    }
+
+    /**
+     * Generates a certain number of puzzles and grades each one repeatedly, reporting the grading throughput and the
+     * number of puzzles at each difficulty
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @param repetitions the number of times to grade each puzzle
+     */
+    public void gradeGrids(int numGrids, int minimumClues, int repetitions) {
+        List<int[]> boards = new ArrayList<>(numGrids);
+        Map<Difficulty, Integer> difficultyCounts = new EnumMap<>(Difficulty.class);
+        DifficultyGrader grader = new DifficultyGrader();
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+
+        for (int i = 0; i < numGrids; i++) {
+            boards.add(new PuzzleGenerator(minimumClues).getBoard().tileGridToArray());
+        }
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < repetitions; i++) {
+            for (int[] board : boards) {
+                grader.grade(board);
+            }
+        }
+
+        long runtime = System.nanoTime() - startTime;
+
+        for (int[] board : boards) {
+            difficultyCounts.merge(grader.grade(board).difficulty(), 1, Integer::sum);
+        }
+
+        System.out.println("DIFFICULTY GRADING FOR " + numGrids + " GRIDS:");
+        System.out.println("------------------------------------------------------------");
+        System.out.println("- Throughput: " + twoPlaces.format((numGrids * (double) repetitions)
+                / (runtime / 1000000000.0)) + " grades/s");
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            System.out.println("- " + difficulty + ": " + difficultyCounts.getOrDefault(difficulty, 0));
         }
     }
 
+    /**
+     * Generates puzzles, canonicalizes each one, and records its fingerprint in a fingerprint index, reporting how
+     * many were new and the time spent canonicalizing
+     * @param indexPath the path of the fingerprint index file
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @throws IOException if the fingerprint index cannot be written
+     */
+    public void deduplicatePuzzles(Path indexPath, int numGrids, int minimumClues) throws IOException {
+        List<Puzzle> puzzles = PuzzleGenerator.generateBatch(numGrids, minimumClues,
+                Runtime.getRuntime().availableProcessors());
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+        int numNew = 0;
+        long canonicalizeTime = 0;
+
+        try (FingerprintIndex index = FingerprintIndex.open(indexPath)) {
+            for (Puzzle puzzle : puzzles) {
+                long startTime = System.nanoTime();
+                long fingerprint = canonicalizer.fingerprint(puzzle);
+                canonicalizeTime += System.nanoTime() - startTime;
+
+                if (index.add(fingerprint)) {
+                    numNew++;
+                }
+            }
+
+            System.out.println("FINGERPRINT INDEX WITH " + index.size() + " PUZZLES:");
+            System.out.println("------------------------------------------------------------");
+            System.out.println("- New puzzles: " + numNew + " of " + numGrids);
+            System.out.println("- Duplicates: " + (numGrids - numNew));
+            System.out.println("- Average canonicalization time: "
+                    + twoPlaces.format((canonicalizeTime / 1000.0) / numGrids) + " us");
+        }
+    }
+
+    /**
+     * Generates puzzles in parallel batches and appends them to a puzzle bank, then times random draws from the bank
+     * @param bankPath the path of the puzzle bank file
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @param parallelism the number of threads to generate with
+     * @throws IOException if the puzzle bank cannot be written
+     */
+    public void fillPuzzleBank(Path bankPath, int numGrids, int minimumClues, int parallelism) throws IOException {
+        DecimalFormat threePlaces = new DecimalFormat("0.000");
+        int batchSize = 1000;
+        int numDraws = 100000;
+
+        try (PuzzleBank bank = PuzzleBank.open(bankPath)) {
+            for (int generated = 0; generated < numGrids; generated += batchSize) {
+                bank.appendAll(PuzzleGenerator.generateBatch(Math.min(batchSize, numGrids - generated), minimumClues,
+                        parallelism));
+            }
+
+            long startTime = System.nanoTime();
+
+            for (int i = 0; i < numDraws; i++) {
+                bank.drawPuzzle(minimumClues);
+            }
+
+            long runtime = System.nanoTime() - startTime;
+
+            System.out.println("PUZZLE BANK WITH " + bank.getRecordCount() + " PUZZLES:");
+            System.out.println("------------------------------------------------------------");
+
+            for (Difficulty difficulty : Difficulty.values()) {
+                System.out.println("- " + difficulty + ": " + bank.getCount(difficulty));
+            }
+
+            System.out.println("- Average draw time: " + threePlaces.format((runtime / 1000.0) / numDraws) + " us");
+        }
+    }
+
+    /**
+     * Generates puzzles, writes them to a file with a PuzzleWriter, and reads them back with a PuzzleReader, reporting
+     * the file size and the write and read throughput
+     * @param streamPath the path of the file to write
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @throws IOException if the file cannot be written or read
+     */
+    public void streamPuzzles(Path streamPath, int numGrids, int minimumClues) throws IOException {
+        List<Puzzle> puzzles = PuzzleGenerator.generateBatch(numGrids, minimumClues,
+                Runtime.getRuntime().availableProcessors());
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+        int numRead = 0;
+
+        long writeStart = System.nanoTime();
+
+        try (PuzzleWriter writer = new PuzzleWriter(FileChannel.open(streamPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            for (Puzzle puzzle : puzzles) {
+                writer.write(puzzle);
+            }
+        }
+
+        long writeTime = System.nanoTime() - writeStart;
+        long readStart = System.nanoTime();
+
+        try (PuzzleReader reader = new PuzzleReader(FileChannel.open(streamPath, StandardOpenOption.READ))) {
+            while (reader.read() != null) {
+                numRead++;
+            }
+        }
+
+        long readTime = System.nanoTime() - readStart;
+
+        System.out.println("PUZZLE STREAM WITH " + numRead + " PUZZLES:");
+        System.out.println("------------------------------------------------------------");
+        System.out.println("- File size: " + Files.size(streamPath) + " bytes");
+        System.out.println("- Write throughput: " + twoPlaces.format(numGrids / (writeTime / 1000000000.0))
+                + " puzzles/s");
+        System.out.println("- Read throughput: " + twoPlaces.format(numRead / (readTime / 1000000000.0))
+                + " puzzles/s");
+    }
+
+    /**
+     * Takes the same filtered puzzles from a sequential and a parallel puzzle stream with the same seed, reporting the
+     * runtime of each and whether they produced the same puzzles in the same order
+     * @param numGrids the number of puzzles to take from each stream
+     * @param minimumClues the minimum number of clues for each puzzle
+     * @param seed the batch seed of both streams
+     */
+    public void comparePuzzleStreams(int numGrids, int minimumClues, long seed) {
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+
+        long sequentialStart = System.nanoTime();
+        List<String> sequentialClues = PuzzleGenerator.puzzles(minimumClues, seed)
+                .filter(puzzle -> puzzle.getDifficulty() != Difficulty.EASY)
+                .limit(numGrids)
+                .map(puzzle -> Arrays.toString(puzzle.getClues()))
+                .toList();
+        long sequentialTime = System.nanoTime() - sequentialStart;
+
+        long parallelStart = System.nanoTime();
+        List<String> parallelClues = PuzzleGenerator.puzzles(minimumClues, seed)
+                .parallel()
+                .filter(puzzle -> puzzle.getDifficulty() != Difficulty.EASY)
+                .limit(numGrids)
+                .map(puzzle -> Arrays.toString(puzzle.getClues()))
+                .toList();
+        long parallelTime = System.nanoTime() - parallelStart;
+
+        System.out.println("SEQUENTIAL AND PARALLEL STREAMS OF " + numGrids + " PUZZLES:");
+        System.out.println("------------------------------------------------------------");
+        System.out.println("- Sequential time: " + twoPlaces.format(sequentialTime / 1000000.0) + " ms");
+        System.out.println("- Parallel time: " + twoPlaces.format(parallelTime / 1000000.0) + " ms");
+        System.out.println("- Same puzzles: " + sequentialClues.equals(parallelClues));
+    }
+
+    /**
+     * Generates a certain number of puzzles with fresh generation metrics, reporting the percentiles of each phase and
+     * then dumping every metric in text form
+     * @param numGrids the number of Sudoku grids to generate
+     * @param minimumClues the minimum number of clues for each puzzle
+     */
+    public void reportGenerationMetrics(int numGrids, int minimumClues) {
+        GenerationMetrics metrics = PuzzleGenerator.getMetrics();
+        DecimalFormat twoPlaces = new DecimalFormat("0.00");
+
+        metrics.reset();
+
+        for (int i = 0; i < numGrids; i++) {
+            new PuzzleGenerator(minimumClues);
+        }
+
+        System.out.println("GENERATION METRICS FOR " + numGrids + " GRIDS:");
+        System.out.println("------------------------------------------------------------");
+
+        for (String phase : List.of("Fill", "Removal", "Generation")) {
+            Histogram histogram = switch (phase) {
+                case "Fill" -> metrics.getFillNanos();
+                case "Removal" -> metrics.getRemovalNanos();
+                default -> metrics.getGenerationNanos();
+            };
+
+            System.out.println("- " + phase + " p50/p99/max: "
+                    + twoPlaces.format(histogram.getPercentile(50) / 1000000.0) + " / "
+                    + twoPlaces.format(histogram.getPercentile(99) / 1000000.0) + " / "
+                    + twoPlaces.format(histogram.getMax() / 1000000.0) + " ms");
+        }
+
+        System.out.println();
+        System.out.print(metrics.toText());
+    }
+
     /**
      * Sets all the values on the board using a 2D-array of values, where 0 specifies an empty tile
      * @param boardValues the 2D-array of values to fill the board with
      */
     public void setBoard(int[][] boardValues) {
-        SudokuTile[][] tileGrid = SudokuTile.getTileGrid();
+        SudokuTile[][] tileGrid = puzzleGenerator.getTileGrid();
 
         for (int columnIndex = 0; columnIndex < tileGrid.length; columnIndex++) {
             for (int rowIndex = 0; rowIndex < tileGrid[columnIndex].length; rowIndex++) {
                 if (boardValues[rowIndex][columnIndex] != 0) {
-                    puzzleGenerator.setTileValue(new Coordinates(columnIndex, rowIndex),
+                    puzzleGenerator.setTileValue(Coordinates.of(columnIndex, rowIndex),
                             boardValues[rowIndex][columnIndex]);
                 }
                 else {
-                    puzzleGenerator.setTileValue(new Coordinates(columnIndex, rowIndex), 0);
+                    puzzleGenerator.setTileValue(Coordinates.of(columnIndex, rowIndex), 0);
                 }
             }
         }
     }
 
-    public static String gridToIntegerString() {
-        SudokuTile[][] tileGrid = SudokuTile.getTileGrid();
+    public static String gridToIntegerString(SudokuBoard board) {
         StringBuilder gridString = new StringBuilder();
 
-        for (SudokuTile[] row : tileGrid) {
+        for (SudokuTile[] row : board.getTileGrid()) {
             for (SudokuTile tile : row) {
-                if (tile.getValue() == null) {
-                    gridString.append(0);
-                }
-                else {
-                    gridString.append(tile.getValue());
-                }
+                gridString.append(tile.getValue());
             }
         }
 
@@ -1,6 +1,44 @@
 package Sudoku.UserInterface;
 
 public record Coordinates(int row, int column) {
+    // One shared instance for each of the 81 cells, indexed in row-major order
+    private static final Coordinates[] CELLS = new Coordinates[81];
+
+    static {
+        for (int cell = 0; cell < CELLS.length; cell++) {
+            CELLS[cell] = new Coordinates(cell / 9, cell % 9);
+        }
+    }
+
+    /**
+     * Gets the shared Coordinates object for a tile of the 9x9 grid, so that looking up coordinates never allocates
+     * @param row the row coordinate, from 0 to 8
+     * @param column the column coordinate, from 0 to 8
+     * @return the Coordinates object for the tile
+     * @throws IllegalArgumentException if the row or column is outside the grid
+     */
+    public static Coordinates of(int row, int column) {
+        if (row < 0 || row > 8 || column < 0 || column > 8) {
+            throw new IllegalArgumentException("Coordinates (" + row + ", " + column + ") are outside the grid");
+        }
+
+        return CELLS[(row * 9) + column];
+    }
+
+    /**
+     * Gets the shared Coordinates object for a tile of the 9x9 grid by its index in row-major order
+     * @param cell the index of the tile, from 0 to 80
+     * @return the Coordinates object for the tile
+     * @throws IllegalArgumentException if the index is outside the grid
+     */
+    public static Coordinates ofCell(int cell) {
+        if (cell < 0 || cell >= CELLS.length) {
+            throw new IllegalArgumentException("Cell " + cell + " is outside the grid");
+        }
+
+        return CELLS[cell];
+    }
+
     /**
      * Gets the row coordinate of this Coordinates object
      * @return the row coordinate
@@ -16,4 +54,12 @@ public record Coordinates(int row, int column) {
     public int column() {
         return column;
     }
+
+    /**
+     * Gets the index of these coordinates in row-major order
+     * @return the cell index (row * 9 + column)
+     */
+    public int cell() {
+        return (row * 9) + column;
+    }
 }
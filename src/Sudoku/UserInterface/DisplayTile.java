@@ -0,0 +1,239 @@
+package Sudoku.UserInterface;
+
+import Sudoku.GameLogic.GridUnits;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.paint.Color;
+
+/**
+ * The JavaFX-facing state of a single tile in the displayed puzzle: its value and the properties describing how the
+ * user is interacting with it. The view binds to these properties through the SudokuModel.
+ */
+public class DisplayTile {
+    // The grid of the SudokuModel that this tile belongs to
+    private final DisplayTile[][] tileGrid;
+    // First coordinate is row, second coordinate is column
+    private final Coordinates coordinates;
+    private boolean editable = true;
+    private SimpleIntegerProperty valueProperty = new SimpleIntegerProperty();
+    private SimpleBooleanProperty clickedProperty = new SimpleBooleanProperty(false);
+    private SimpleBooleanProperty relevantProperty = new SimpleBooleanProperty(false);
+    private SimpleBooleanProperty hoveredProperty = new SimpleBooleanProperty(false);
+    private SimpleBooleanProperty validProperty = new SimpleBooleanProperty(true);
+    private final Color TILE_NEUTRAL_COLOR = Color.rgb(0, 0, 0, 0.0);
+    private final Color TILE_RELEVANT_COLOR = Color.rgb(0, 0, 0, 0.1);
+    private final Color TILE_HOVERED_COLOR = Color.rgb(0, 0, 0, 0.25);
+    private final Color TILE_CLICKED_COLOR = Color.rgb(0, 0, 0, 0.4);
+    private ObjectProperty<Color> colorProperty = new SimpleObjectProperty<>(TILE_NEUTRAL_COLOR);
+
+    public DisplayTile(DisplayTile[][] tileGrid, int row, int column) {
+        this.tileGrid = tileGrid;
+        this.coordinates = Coordinates.of(row, column);
+    }
+
+    public Coordinates getCoordinates() {
+        return coordinates;
+    }
+
+    public int getRowIndex() {
+        return coordinates.row();
+    }
+
+    public int getColumnIndex() {
+        return coordinates.column();
+    }
+
+    public Color getColor() {
+        return colorProperty.get();
+    }
+
+    public void setColorNeutral() {
+        colorProperty.set(TILE_NEUTRAL_COLOR);
+    }
+
+    public void setColorRelevant() {
+        colorProperty.set(TILE_RELEVANT_COLOR);
+    }
+
+    public void setColorHovered() {
+        colorProperty.set(TILE_HOVERED_COLOR);
+    }
+
+    public void setColorClicked() {
+        colorProperty.set(TILE_CLICKED_COLOR);
+    }
+
+    public ObjectProperty<Color> colorProperty() {
+        return colorProperty;
+    }
+
+    public boolean isEmpty() {
+        return getValue() == 0;
+    }
+
+    public int getValue() {
+        return valueProperty.get();
+    }
+
+    /**
+     * Sets the value associated with the DisplayTile and displays it if it is not 0
+     * @param value the value to set for the DisplayTile
+     */
+    public void setValue(int value) {
+        // Do not accept a value not in the range 1-9 unless it is 0
+        if (value == 0 || (value >= 1 && value <= 9)) {
+            this.valueProperty.set(value);
+        }
+    }
+
+    /**
+     * Gets a reference to the tile's valueProperty
+     * @return the tile's valueProperty itself
+     */
+    public SimpleIntegerProperty valueProperty() {
+        return valueProperty;
+    }
+
+    /**
+     * Gets the value corresponding to whether the tile is editable
+     * @return the boolean value of editable
+     */
+    public boolean getEditable() {
+        return editable;
+    }
+
+    /**
+     * Sets the editable value for the tile
+     * @param editable the new value for whether the tile is editable
+     */
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+    }
+
+    /**
+     * Gets the value of the tile's clickedProperty
+     * @return the value of the tile's clickedProperty
+     */
+    public boolean getClicked() {
+        return clickedProperty.get();
+    }
+
+    /**
+     * Sets the value of the tile's clickedProperty
+     * @param clicked the new value for the tile's clickedProperty
+     */
+    public void setClicked(boolean clicked) {
+        clickedProperty.set(clicked);
+    }
+
+    /**
+     * Gets a reference to the tile's clickedProperty
+     * @return the tile's clickedProperty itself
+     */
+    public SimpleBooleanProperty clickedProperty() {
+        return clickedProperty;
+    }
+
+    /**
+     * Gets the value of the tile's relevantProperty
+     * @return the value of the tile's relevantProperty
+     */
+    public boolean getRelevant() {
+        return relevantProperty.get();
+    }
+
+    /**
+     * Sets the value of the tile's relevantProperty
+     * @param relevant the new value for the tile's relevantProperty
+     */
+    public void setRelevant(boolean relevant) {
+        relevantProperty.set(relevant);
+    }
+
+    /**
+     * Gets a reference to the tile's relevantProperty
+     * @return the tile's relevantProperty itself
+     */
+    public SimpleBooleanProperty relevantProperty() {
+        return relevantProperty;
+    }
+
+    /**
+     * Gets the value of the tile's hoveredProperty
+     * @return the value of the tile's hoveredProperty
+     */
+    public boolean getHovered() {
+        return hoveredProperty.get();
+    }
+
+    /**
+     * Sets the value of the tile's hoveredProperty
+     * @param hovered the new value for the tile's hoveredProperty
+     */
+    public void setHovered(boolean hovered) {
+        hoveredProperty.set(hovered);
+    }
+
+    /**
+     * Gets a reference to the tile's hoveredProperty
+     * @return the tile's hoveredProperty itself
+     */
+    public SimpleBooleanProperty hoveredProperty() {
+        return hoveredProperty;
+    }
+
+    /**
+     * Gets the value of the tile's validProperty
+     * @return the value of the tile's validProperty
+     */
+    public boolean getValid() {
+        return validProperty.get();
+    }
+
+    /**
+     * Sets the value of the tile's validProperty
+     * @param valid the new value for the tile's validProperty
+     */
+    public void setValid(boolean valid) {
+        validProperty.set(valid);
+    }
+
+    /**
+     * Gets a reference to the tile's validProperty
+     * @return the tile's validProperty itself
+     */
+    public SimpleBooleanProperty validProperty() {
+        return validProperty;
+    }
+
+    /**
+     * Marks the tiles in the same row or column as this one as relevant
+     */
+    public void setRelevantTiles() {
+        setLineTilesRelevant(true);
+    }
+
+    /**
+     * Unmarks the tiles in the same row or column as this one as relevant
+     */
+    public void unsetRelevantTiles() {
+        setLineTilesRelevant(false);
+    }
+
+    /**
+     * Sets the relevantProperty of the other tiles in the same row or column as this one
+     * @param relevant the new value for the tiles' relevantProperty
+     */
+    private void setLineTilesRelevant(boolean relevant) {
+        int cell = coordinates.cell();
+
+        // The row and column peers come first in a cell's peers
+        for (int index = 0; index < GridUnits.NUM_LINE_PEERS; index++) {
+            int peerCell = GridUnits.peer(cell, index);
+
+            tileGrid[peerCell / 9][peerCell % 9].setRelevant(relevant);
+        }
+    }
+}
@@ -59,11 +59,13 @@ public class MenuController {
                 newGameConfirmation.showAndWait();
 
                 if (newGameConfirmation.getResult() == ButtonType.OK) {
-                    PuzzleController puzzleController = new PuzzleController(sudokuModel, primaryStage, 25);
+                    PuzzleController puzzleController = new PuzzleController(sudokuModel, primaryStage,
+                            SudokuModel.NEW_GAME_MINIMUM_CLUES);
                 }
             }
             else {
-                PuzzleController puzzleController = new PuzzleController(sudokuModel, primaryStage, 25);
+                PuzzleController puzzleController = new PuzzleController(sudokuModel, primaryStage,
+                        SudokuModel.NEW_GAME_MINIMUM_CLUES);
             }
         });
     }
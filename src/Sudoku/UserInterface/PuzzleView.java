@@ -223,8 +223,8 @@ public class PuzzleView {
             gridColumn = (3*columnIndex);
 
             for (int boxColumn = 0; boxColumn < boxWidthAndHeight; boxColumn++) {
-                // Create a coordinates object for the grid coordinates of the tile
-                Coordinates tileCoordinates = new Coordinates(gridRow, gridColumn);
+                // Get the coordinates object for the grid coordinates of the tile
+                Coordinates tileCoordinates = Coordinates.of(gridRow, gridColumn);
                 drawSudokuTile(box, tileCoordinates, boxRow, boxColumn);
 
                 gridColumn++;
@@ -1,7 +1,11 @@
 package Sudoku.UserInterface;
 
+import Sudoku.GameLogic.BoardStateTracker;
+import Sudoku.GameLogic.GridUnits;
+import Sudoku.GameLogic.Puzzle;
 import Sudoku.GameLogic.PuzzleGenerator;
-import Sudoku.GameLogic.SudokuTile;
+import Sudoku.GameLogic.PuzzlePool;
+import Sudoku.Storage.PuzzleBank;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -9,21 +13,64 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
 
+import java.io.IOException;
+
 public class SudokuModel {
-    private PuzzleGenerator puzzleGenerator;
+    // The minimum number of clues for puzzles started with the New Game button
+    public static final int NEW_GAME_MINIMUM_CLUES = 25;
+    private final PuzzlePool puzzlePool;
+    private PuzzleBank puzzleBank;
+    private DisplayTile[][] tileGrid;
+    // Digit counts, conflicts, and correct tiles of the displayed puzzle, updated with each move
+    private BoardStateTracker boardState;
+    private DisplayTile lastClickedTile;
 
     /**
-     * Constructor: Creates a new SudokuModel instance
+     * Constructor: Creates a new SudokuModel instance and starts filling its pool of new game puzzles
      */
     public SudokuModel() {
+        puzzlePool = new PuzzlePool(4, NEW_GAME_MINIMUM_CLUES, 1);
     }
 
     /**
-     * Generates a new puzzle with a certain minimum number of clues
+     * Generates a new puzzle with a certain minimum number of clues, drawing it from the puzzle bank or taking it from
+     * the puzzle pool if possible
      * @param minimumClues the minimum number of clues
      */
     public void generateNewPuzzle(int minimumClues) {
-        puzzleGenerator = new PuzzleGenerator(minimumClues);
+        Puzzle bankPuzzle = (puzzleBank != null) ? puzzleBank.drawPuzzle(minimumClues) : null;
+
+        if (bankPuzzle != null) {
+            loadPuzzle(bankPuzzle);
+        }
+        else if (minimumClues == puzzlePool.getMinimumClues()) {
+            loadPuzzle(puzzlePool.takePuzzle());
+        }
+        else {
+            loadPuzzle(new PuzzleGenerator(minimumClues).toPuzzle());
+        }
+    }
+
+    /**
+     * Creates the displayed tile grid from a puzzle, making its clues not editable
+     * @param puzzle the puzzle to display
+     */
+    public void loadPuzzle(Puzzle puzzle) {
+        tileGrid = new DisplayTile[9][9];
+        boardState = new BoardStateTracker(puzzle);
+        lastClickedTile = null;
+
+        for (int row = 0; row < tileGrid.length; row++) {
+            for (int column = 0; column < tileGrid[row].length; column++) {
+                DisplayTile tile = new DisplayTile(tileGrid, row, column);
+                int clue = puzzle.getClue(row, column);
+
+                tile.setValue(clue);
+                tile.setEditable(clue == 0);
+
+                tileGrid[row][column] = tile;
+            }
+        }
     }
 
     /**
@@ -31,42 +78,107 @@ public class SudokuModel {
      * @return true if a puzzle instance exists
      */
     public boolean hasPuzzle() {
-        return puzzleGenerator != null;
+        return tileGrid != null;
+    }
+
+    /**
+     * Stops the puzzle pool's background workers and closes the puzzle bank, if one is in use
+     * @throws IOException if the puzzle bank cannot be closed
+     */
+    public void shutdown() throws IOException {
+        puzzlePool.shutdown();
+
+        if (puzzleBank != null) {
+            puzzleBank.close();
+            puzzleBank = null;
+        }
     }
 
     // Accessors & Modifiers
-    public PuzzleGenerator getPuzzleGenerator() {
-        return puzzleGenerator;
+    public PuzzlePool getPuzzlePool() {
+        return puzzlePool;
     }
 
-    public SudokuTile[][] getTileGrid() {
-        return puzzleGenerator.getTileGrid();
+    public PuzzleBank getPuzzleBank() {
+        return puzzleBank;
     }
 
-    public Coordinates getLastClickedTile() {
-        SudokuTile tile = SudokuTile.getLastClickedTile();
+    public void setPuzzleBank(PuzzleBank puzzleBank) {
+        this.puzzleBank = puzzleBank;
+    }
 
-        if (tile == null) {
+    public DisplayTile[][] getTileGrid() {
+        return tileGrid;
+    }
+
+    /**
+     * Gets a reference to the DisplayTile at the coordinates of the given Coordinates object
+     * @param coordinates the Coordinates object with the coordinates of the tile
+     * @return the DisplayTile at the given coordinates
+     */
+    private DisplayTile getTileByCoordinates(Coordinates coordinates) {
+        return tileGrid[coordinates.row()][coordinates.column()];
+    }
+
+    /**
+     * Gets a reference to the DisplayTile at a cell index
+     * @param cell the index of the tile in row-major order
+     * @return the DisplayTile at the given cell
+     */
+    private DisplayTile getTileByCell(int cell) {
+        return tileGrid[cell / 9][cell % 9];
+    }
+
+    private void setTileValue(Coordinates coordinates, int value) {
+        DisplayTile tile = getTileByCoordinates(coordinates);
+
+        if (tile != null) {
+            if (tile.getEditable()) {
+                tile.setValue(value);
+                boardState.setValue(coordinates.cell(), value);
+            }
+        }
+    }
+
+    /**
+     * Updates the validity of tiles relevant to the current tile (and itself). Only the tile and its peers can change
+     * validity after a move, and each one is checked against the unit counts of the board state.
+     * @param coordinates the coordinates of the current tile
+     */
+    private void updateInvalidTiles(Coordinates coordinates) {
+        int cell = coordinates.cell();
+
+        getTileByCell(cell).setValid(boardState.isValid(cell));
+
+        for (int index = 0; index < GridUnits.NUM_PEERS; index++) {
+            int peerCell = GridUnits.peer(cell, index);
+
+            getTileByCell(peerCell).setValid(boardState.isValid(peerCell));
+        }
+    }
+
+    public Coordinates getLastClickedTile() {
+        if (lastClickedTile == null) {
             return null;
         }
 
-        return SudokuTile.getLastClickedTile().getCoordinates();
+        return lastClickedTile.getCoordinates();
     }
 
     public void setLastClickedTile(Coordinates coordinates) {
-        SudokuTile tile = null;
+        DisplayTile tile = null;
 
         if (coordinates != null) {
-            tile = SudokuTile.getTileByCoordinates(coordinates);
+            tile = getTileByCoordinates(coordinates);
         }
 
         // Unset old relevant tiles if applicable
         if (getLastClickedTile() != null) {
-            SudokuTile.getTileByCoordinates(getLastClickedTile()).unsetRelevantTiles();
+            getTileByCoordinates(getLastClickedTile()).unsetRelevantTiles();
         }
 
         // Set the new lastClickedTile
-        SudokuTile.setLastClickedTile(tile);
+        lastClickedTile = tile;
 
         // Set new relevant tiles if the new lastClickedTile is not null
         if (tile != null) {
@@ -75,15 +187,15 @@ public class SudokuModel {
     }
 
     public void updateLastClickedTile(Coordinates coordinates) {
-        SudokuTile tile = null;
+        DisplayTile tile = null;
 
         if (coordinates != null) {
-            tile = SudokuTile.getTileByCoordinates(coordinates);
+            tile = getTileByCoordinates(coordinates);
         }
 
         // If no tile was clicked, unselect the last tile
         if (tile == null) {
-            SudokuTile.getTileByCoordinates(getLastClickedTile()).setClicked(false);
+            getTileByCoordinates(getLastClickedTile()).setClicked(false);
             setLastClickedTile(null);
 
             return;
@@ -99,7 +211,7 @@ public class SudokuModel {
 
         // Switch the selected tile if a new tile is clicked
         if (getLastClickedTile() != null) {
-            SudokuTile.getTileByCoordinates(getLastClickedTile()).setClicked(false);
+            getTileByCoordinates(getLastClickedTile()).setClicked(false);
         }
 
         tile.setClicked(true);
@@ -107,11 +219,11 @@ public class SudokuModel {
     }
 
     public SimpleIntegerProperty tileValueProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).valueProperty();
+        return getTileByCoordinates(coordinates).valueProperty();
     }
 
-    public Integer getTileValue(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).getValue();
+    public int getTileValue(Coordinates coordinates) {
+        return getTileByCoordinates(coordinates).getValue();
     }
 
     public void setValueLastClickedTile(KeyEvent keyEvent) {
@@ -122,25 +234,25 @@ public class SudokuModel {
                 int value = Integer.parseInt(keyEvent.getText());
 
                 // Assign the input to the current tile
-                puzzleGenerator.setTileValue(getLastClickedTile(), value);
+                setTileValue(getLastClickedTile(), value);
             }
             else {
                 if (keyEvent.getCode() == KeyCode.BACK_SPACE) {
-                    puzzleGenerator.setTileValue(getLastClickedTile(), 0);
+                    setTileValue(getLastClickedTile(), 0);
                 }
             }
 
             // Update invalid tiles
-            puzzleGenerator.updateInvalidTiles(getLastClickedTile());
+            updateInvalidTiles(getLastClickedTile());
         }
     }
 
     public boolean isBoardSolved() {
-        return puzzleGenerator.isBoardComplete();
+        return boardState.isSolved();
     }
 
     public boolean getTileEmpty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).isEmpty();
+        return getTileByCoordinates(coordinates).isEmpty();
     }
 
     public void updateFill(Coordinates coordinates) {
@@ -166,74 +278,74 @@ public class SudokuModel {
     }
 
     public void updateFillAllTiles() {
-        for (SudokuTile[] row : getTileGrid()) {
-            for (SudokuTile tile : row) {
+        for (DisplayTile[] row : getTileGrid()) {
+            for (DisplayTile tile : row) {
                 updateFill(tile.getCoordinates());
             }
         }
     }
 
     public SimpleBooleanProperty tileClickedProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).clickedProperty();
+        return getTileByCoordinates(coordinates).clickedProperty();
     }
 
     public boolean getTileClicked(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).getClicked();
+        return getTileByCoordinates(coordinates).getClicked();
     }
 
     public void setTileClicked(Coordinates coordinates, boolean clicked) {
-        SudokuTile.getTileByCoordinates(coordinates).setClicked(clicked);
+        getTileByCoordinates(coordinates).setClicked(clicked);
     }
 
     public SimpleBooleanProperty tileRelevantProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).relevantProperty();
+        return getTileByCoordinates(coordinates).relevantProperty();
     }
 
     public boolean getTileRelevant(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).getRelevant();
+        return getTileByCoordinates(coordinates).getRelevant();
     }
 
     public void setTileRelevant(Coordinates coordinates, boolean relevant) {
-        SudokuTile.getTileByCoordinates(coordinates).setRelevant(relevant);
+        getTileByCoordinates(coordinates).setRelevant(relevant);
     }
 
     public boolean getTileHovered(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).getHovered();
+        return getTileByCoordinates(coordinates).getHovered();
     }
 
     public void setTileHovered(Coordinates coordinates, boolean hovered) {
-        SudokuTile.getTileByCoordinates(coordinates).setHovered(hovered);
+        getTileByCoordinates(coordinates).setHovered(hovered);
     }
 
     public SimpleBooleanProperty tileHoveredProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).hoveredProperty();
+        return getTileByCoordinates(coordinates).hoveredProperty();
     }
 
     public Color getTileColor(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).getColor();
+        return getTileByCoordinates(coordinates).getColor();
     }
 
     public void setColorNeutral(Coordinates coordinates) {
-        SudokuTile.getTileByCoordinates(coordinates).setColorNeutral();
+        getTileByCoordinates(coordinates).setColorNeutral();
     }
 
     public void setColorRelevant(Coordinates coordinates) {
-        SudokuTile.getTileByCoordinates(coordinates).setColorRelevant();
+        getTileByCoordinates(coordinates).setColorRelevant();
     }
 
     public void setColorHovered(Coordinates coordinates) {
-        SudokuTile.getTileByCoordinates(coordinates).setColorHovered();
+        getTileByCoordinates(coordinates).setColorHovered();
     }
 
     public void setColorClicked(Coordinates coordinates) {
-        SudokuTile.getTileByCoordinates(coordinates).setColorClicked();
+        getTileByCoordinates(coordinates).setColorClicked();
     }
 
     public ObjectProperty<Color> tileColorProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).colorProperty();
+        return getTileByCoordinates(coordinates).colorProperty();
     }
 
     public SimpleBooleanProperty tileValidProperty(Coordinates coordinates) {
-        return SudokuTile.getTileByCoordinates(coordinates).validProperty();
+        return getTileByCoordinates(coordinates).validProperty();
     }
 }